@@ -0,0 +1,80 @@
+package org.satlink;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.loaders.ConfigLoader;
+import org.satlink.loaders.SchedulesLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+
+@State(Scope.Benchmark)
+public class ConstellationState {
+    @Param("10")
+    public int stations;
+    @Param("100")
+    public int satellites;
+    @Param("7")
+    public int horizonDays;
+    @Param("4")
+    public int windowsPerDay;
+    @Param("12")
+    public int shootingsPerDay;
+
+    public Path directory;
+    public Config config;
+    public Schedule connectionSchedule;
+    public Schedule flybySchedule;
+    public SatelliteParams[] satelliteParams;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("satlink-jmh");
+        new SyntheticConstellation(stations, satellites, horizonDays, windowsPerDay, shootingsPerDay, 42)
+                .write(directory.resolve("connections"), directory.resolve("flybys"));
+        config = createConfig(Map.of());
+        final var loadedConnectionSchedule = loadConnectionSchedule(config);
+        final var loadedFlybySchedule = loadFlybySchedule(config);
+        connectionSchedule = loadedConnectionSchedule.alignTo(loadedFlybySchedule, config.timeTick);
+        flybySchedule = loadedFlybySchedule.alignTo(loadedConnectionSchedule, config.timeTick);
+        satelliteParams = SchedulesLoader.getSatellitesParams(connectionSchedule.getSatelliteNames(), config);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (final var files = Files.walk(directory)) {
+            for (final var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public Config createConfig(Map<String, String> overrides) throws IOException {
+        final var props = new Properties();
+        try (final var resourceStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(Config.CONFIG_FILE_NAME)) {
+            props.load(resourceStream);
+        }
+        props.setProperty(Config.CONNECTION_SCHEDULES_PATH, directory.resolve("connections").toString());
+        props.setProperty(Config.FLYBY_SCHEDULES_PATH, directory.resolve("flybys").toString());
+        props.setProperty(Config.RESULTS_PATH, directory.resolve("result").toString());
+        props.setProperty(Config.STATISTICS_PATH, directory.resolve("statistics").toString());
+        props.setProperty(Config.SCHEDULES_CACHE_PATH, "");
+        props.setProperty(Config.RESOLVER_STATE_PATH, "");
+        props.putAll(overrides);
+        return ConfigLoader.loadConfig(props);
+    }
+
+    public Schedule loadConnectionSchedule(Config config) {
+        return SchedulesLoader.getConnectionSchedules(Path.of(config.connectionSchedulesPath), config);
+    }
+
+    public Schedule loadFlybySchedule(Config config) {
+        return SchedulesLoader.getFlybySchedules(Path.of(config.flybySchedulesPath), config);
+    }
+}
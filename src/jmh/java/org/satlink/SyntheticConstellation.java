@@ -0,0 +1,92 @@
+package org.satlink;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+@RequiredArgsConstructor
+public class SyntheticConstellation {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MIN_DURATION = 60_000;
+    private static final int MAX_DURATION = 720_000;
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2027, 6, 1, 0, 0);
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("d MMM uuuu HH:mm:ss.SSS", Locale.US);
+
+    private final int stationCount;
+    private final int satelliteCount;
+    private final int horizonDays;
+    private final int windowsPerDay;
+    private final int shootingsPerDay;
+    private final long seed;
+
+    public static String getStationName(int stationId) {
+        return String.format("Station%03d", stationId);
+    }
+
+    public static String getSatelliteName(int satelliteId) {
+        return "KinoSat_" + (110001 + satelliteId);
+    }
+
+    /*
+     * Writes STK access reports in the layout of the real input: one Facility file per station with a section
+     * per satellite, and one flyby file with a section per satellite. Every station-satellite pair gets
+     * windowsPerDay windows a day, every satellite shootingsPerDay shootings a day, each in its own slot.
+     */
+    public void write(Path connectionDirectory, Path flybyDirectory) throws IOException {
+        final var random = new Random(seed);
+        Files.createDirectories(connectionDirectory);
+        Files.createDirectories(flybyDirectory);
+        for (var stationId = 0; stationId < stationCount; stationId++) {
+            final var stationName = getStationName(stationId);
+            try (final var writer = open(connectionDirectory.resolve("Facility-" + stationName + ".txt"))) {
+                writer.println("Satellite-" + stationName + ":  Access Summary Report");
+                writer.println();
+                for (var satelliteId = 0; satelliteId < satelliteCount; satelliteId++) {
+                    writeSection(writer, stationName + "-To-" + getSatelliteName(satelliteId), windowsPerDay, random);
+                }
+            }
+        }
+        try (final var writer = open(flybyDirectory.resolve("Russia-To-Satellite.txt"))) {
+            writer.println("Russia-To-Satellite:  Access Summary Report");
+            writer.println();
+            for (var satelliteId = 0; satelliteId < satelliteCount; satelliteId++) {
+                writeSection(writer, "Russia-To-" + getSatelliteName(satelliteId), shootingsPerDay, random);
+            }
+        }
+    }
+
+    private void writeSection(PrintWriter writer, String header, int perDay, Random random) {
+        writer.println();
+        writer.println(header);
+        writer.println("-".repeat(header.length()));
+        writer.println();
+        writer.println("                  Access        Start Time (UTCG)           Stop Time (UTCG)        Duration (sec)");
+        writer.println("                  ------    ------------------------    ------------------------    --------------");
+        final var slot = MILLIS_PER_DAY / perDay;
+        var access = 1;
+        for (var day = 0; day < horizonDays; day++) {
+            for (var i = 0; i < perDay; i++) {
+                final var duration = MIN_DURATION + random.nextInt(MAX_DURATION - MIN_DURATION);
+                final var startTime = day * MILLIS_PER_DAY + i * slot + (long) (random.nextDouble() * Math.max(0, slot - duration));
+                writer.println(String.format(Locale.US, "%24d    %24s    %24s     %13.3f", access++,
+                        FORMATTER.format(START_TIME.plus(startTime, ChronoUnit.MILLIS)),
+                        FORMATTER.format(START_TIME.plus(startTime + duration, ChronoUnit.MILLIS)),
+                        duration * 0.001));
+            }
+        }
+        writer.println();
+    }
+
+    private static PrintWriter open(Path file) throws IOException {
+        return new PrintWriter(new BufferedWriter(Files.newBufferedWriter(file)));
+    }
+}
@@ -0,0 +1,38 @@
+package org.satlink.loaders;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.ConstellationState;
+import org.satlink.data.Config;
+import org.satlink.data.Schedule;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulesLoaderBenchmark {
+    @Param({"STREAMING", "MAPPED", "LEGACY"})
+    public String loaderMode;
+
+    private Config config;
+
+    @Setup
+    public void setUp(ConstellationState constellation) throws IOException {
+        config = constellation.createConfig(Map.of(Config.LOADER_MODE, loaderMode));
+    }
+
+    @Benchmark
+    public Schedule connectionSchedules(ConstellationState constellation) {
+        return constellation.loadConnectionSchedule(config);
+    }
+
+    @Benchmark
+    public Schedule flybySchedules(ConstellationState constellation) {
+        return constellation.loadFlybySchedule(config);
+    }
+}
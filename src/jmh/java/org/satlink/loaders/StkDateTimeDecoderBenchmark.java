@@ -0,0 +1,69 @@
+package org.satlink.loaders;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.satlink.data.ScheduleColumns;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StkDateTimeDecoderBenchmark {
+    private static final int ROWS = 4096;
+    private static final int ROW_LENGTH = 99;
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(StkDateTimeDecoder.PATTERN, Locale.US);
+    private String[] lines;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        final var text = new StringBuilder();
+        lines = new String[ROWS];
+        var time = LocalDateTime.of(2027, 6, 1, 0, 0);
+        for (var i = 0; i < ROWS; i++) {
+            final var startTime = time.plusNanos(random.nextInt(600_000) * 1_000_000L);
+            final var stopTime = startTime.plusNanos((60_000 + random.nextInt(600_000)) * 1_000_000L);
+            lines[i] = String.format("%24d    %24s    %24s     %13.3f",
+                    i + 1, formatter.format(startTime), formatter.format(stopTime), 0.0);
+            text.append(lines[i]).append('\n');
+            time = stopTime;
+        }
+        buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 2)
+    public void dateTimeFormatter(Blackhole blackhole) {
+        for (final var line : lines) {
+            blackhole.consume(ScheduleColumns.toEpochMillis(LocalDateTime.parse(line.substring(28, 52).trim(), formatter)));
+            blackhole.consume(ScheduleColumns.toEpochMillis(LocalDateTime.parse(line.substring(56, 80).trim(), formatter)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 2)
+    public void stkDecoder(Blackhole blackhole) {
+        for (var row = 0; row < ROWS; row++) {
+            final var from = row * ROW_LENGTH;
+            blackhole.consume(decode(from + 28, from + 52));
+            blackhole.consume(decode(from + 56, from + 80));
+        }
+    }
+
+    private long decode(int from, int to) {
+        from = ScheduleFileParser.skipWhitespace(buffer, from, to);
+        return StkDateTimeDecoder.decode(buffer, from, to);
+    }
+}
@@ -0,0 +1,31 @@
+package org.satlink.resolvers;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.ConstellationState;
+import org.satlink.data.Schedule;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuantumQueueBenchmark {
+    @Benchmark
+    public Schedule quantize(ConstellationState constellation) {
+        constellation.connectionSchedule.sortByTime();
+        return QuantumQueue.quantize(constellation.connectionSchedule, constellation.config.getTimeStepTicks());
+    }
+
+    @Benchmark
+    public long iterate(ConstellationState constellation) {
+        constellation.connectionSchedule.sortByTime();
+        final var queue = new QuantumQueue(constellation.connectionSchedule, constellation.config.getTimeStepTicks());
+        var result = 0L;
+        while (queue.next()) {
+            result += queue.getStopTime() - queue.getStartTime();
+        }
+        return result;
+    }
+}
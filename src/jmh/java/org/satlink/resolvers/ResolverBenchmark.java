@@ -0,0 +1,34 @@
+package org.satlink.resolvers;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.ConstellationState;
+import org.satlink.data.Config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResolverBenchmark {
+    @Param({"FIFO", "GREEDY", "FLOW_GUIDED", "LOCAL_SEARCH"})
+    public String resolverType;
+
+    private Config config;
+    private Resolver resolver;
+
+    @Setup
+    public void setUp(ConstellationState constellation) throws IOException {
+        config = constellation.createConfig(Map.of(Config.RESOLVER_TYPE, resolverType));
+        resolver = ResolverFactory.create(config.resolverType, config);
+    }
+
+    @Benchmark
+    public ResolverResult resolve(ConstellationState constellation) {
+        return resolver.resolve(constellation.connectionSchedule, constellation.flybySchedule, constellation.satelliteParams, config);
+    }
+}
@@ -0,0 +1,40 @@
+package org.satlink.resolvers;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.ConstellationState;
+import org.satlink.data.Config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultCheckerBenchmark {
+    @Param({"FULL", "SAMPLED"})
+    public String verificationLevel;
+
+    private ResultChecker checker;
+    private ResolverResult result;
+
+    @Setup
+    public void setUp(ConstellationState constellation) throws IOException {
+        result = new FifoResolver().resolve(constellation.connectionSchedule, constellation.flybySchedule, constellation.satelliteParams, constellation.config);
+        final var config = constellation.createConfig(Map.of(Config.VERIFICATION_LEVEL, verificationLevel));
+        checker = new ResultChecker(constellation.connectionSchedule, constellation.flybySchedule, config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        checker.close();
+    }
+
+    @Benchmark
+    public void check() {
+        checker.check(result);
+    }
+}
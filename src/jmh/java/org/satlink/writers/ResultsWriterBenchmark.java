@@ -0,0 +1,37 @@
+package org.satlink.writers;
+
+import org.openjdk.jmh.annotations.*;
+import org.satlink.ConstellationState;
+import org.satlink.data.Config;
+import org.satlink.resolvers.FifoResolver;
+import org.satlink.resolvers.ResolverResult;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsWriterBenchmark {
+    @Param({"1", "0"})
+    public String writerThreads;
+
+    private ResultsWriter writer;
+    private ResolverResult result;
+
+    @Setup
+    public void setUp(ConstellationState constellation) throws IOException {
+        final var config = constellation.createConfig(Map.of(Config.WRITER_THREADS, writerThreads));
+        result = new FifoResolver().resolve(constellation.connectionSchedule, constellation.flybySchedule, constellation.satelliteParams, config);
+        writer = new ResultsWriter(constellation.connectionSchedule, constellation.flybySchedule, constellation.satelliteParams, config);
+    }
+
+    @Benchmark
+    public void save() {
+        writer.save(result);
+    }
+}
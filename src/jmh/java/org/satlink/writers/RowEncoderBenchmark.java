@@ -0,0 +1,80 @@
+package org.satlink.writers;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowEncoderBenchmark {
+    private static final int ROWS = 4096;
+    private static final String PATTERN = "d MMM uuuu HH:mm:ss.SSS";
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PATTERN, Locale.US);
+    private final LocalDateTime initialTime = LocalDateTime.of(2027, 6, 1, 0, 0);
+    private final PrintWriter printWriter = new PrintWriter(Writer.nullWriter());
+    private int[] startTimes;
+    private int[] stopTimes;
+    private String[] satelliteNames;
+    private RowEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        startTimes = new int[ROWS];
+        stopTimes = new int[ROWS];
+        satelliteNames = new String[ROWS];
+        var time = 0;
+        for (var i = 0; i < ROWS; i++) {
+            startTimes[i] = time + random.nextInt(600_000);
+            stopTimes[i] = startTimes[i] + 1 + random.nextInt(245_000);
+            satelliteNames[i] = "KinoSat_11" + (random.nextInt(9000) + 1000);
+            time = stopTimes[i];
+        }
+        encoder = new RowEncoder(initialTime, 1, formatter, PATTERN);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void stringFormat() {
+        for (var i = 0; i < ROWS; i++) {
+            final var duration = (stopTimes[i] - startTimes[i]) * 0.001;
+            printWriter.println(String.format("%30s%30s%30.3f%30s%30.3f",
+                    formatter.format(initialTime.plus(startTimes[i], ChronoUnit.MILLIS)),
+                    formatter.format(initialTime.plus(stopTimes[i], ChronoUnit.MILLIS)),
+                    duration,
+                    satelliteNames[i],
+                    100 * duration
+            ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowEncoder() {
+        for (var i = 0; i < ROWS; i++) {
+            final var duration = stopTimes[i] - startTimes[i];
+            encoder.appendTimestamp(startTimes[i]).padLeft(0, 30);
+            var mark = encoder.length();
+            encoder.appendTimestamp(stopTimes[i]).padLeft(mark, 30);
+            mark = encoder.length();
+            encoder.appendThousandths(duration).padLeft(mark, 30);
+            mark = encoder.length();
+            encoder.appendText(satelliteNames[i]).padLeft(mark, 30);
+            mark = encoder.length();
+            encoder.appendThousandths(100L * duration).padLeft(mark, 30)
+                    .writeLine(printWriter);
+        }
+    }
+}
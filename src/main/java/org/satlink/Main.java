@@ -2,27 +2,83 @@ package org.satlink;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.ResolverTypes;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
 import org.satlink.loaders.ConfigLoader;
 import org.satlink.loaders.SchedulesLoader;
-import org.satlink.resolvers.FifoResolver;
+import org.satlink.resolvers.ResolverFactory;
+import org.satlink.resolvers.ResultChecker;
+import org.satlink.resolvers.SlicedFifoResolver;
+import org.satlink.service.ScheduleService;
+import org.satlink.utils.Metrics;
+import org.satlink.writers.ResultsWriter;
+import org.satlink.writers.SlicedResultsWriter;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 @Slf4j
 public class Main {
-    public static void main(String[] args) {
-        final var config = ConfigLoader.loadConfig();
+    public static void main(String[] args) throws IOException {
+        final var config = Metrics.measure("config", ConfigLoader::loadConfig);
         log.info("Config loaded.");
 
-        final var connectionSchedules = SchedulesLoader.getConnectionSchedules(Path.of(config.connectionSchedulesPath), config);
-        final var flybySchedules = SchedulesLoader.getFlybySchedules(Path.of(config.flybySchedulesPath), config);
-        final var satellitesParams = SchedulesLoader.getSatellitesParams(connectionSchedules.getSatelliteNames());
+        if (config.servicePort > 0) {
+            new ScheduleService(config).start();
+            return;
+        }
+
+        final var loadedConnectionSchedules = SchedulesLoader.getConnectionSchedules(Path.of(config.connectionSchedulesPath), config);
+        final var loadedFlybySchedules = SchedulesLoader.getFlybySchedules(Path.of(config.flybySchedulesPath), config);
+        final var connectionSchedules = loadedConnectionSchedules.alignTo(loadedFlybySchedules, config.timeTick);
+        final var flybySchedules = loadedFlybySchedules.alignTo(loadedConnectionSchedules, config.timeTick);
+        final var satellitesParams = SchedulesLoader.getSatellitesParams(connectionSchedules.getSatelliteNames(), config);
 
         log.info("Input schedules loaded.");
 
-        final var resolver = new FifoResolver(connectionSchedules, flybySchedules, satellitesParams, config);
+        if (config.sliceHours > 0) {
+            resolveSliced(connectionSchedules, flybySchedules, satellitesParams, config);
+            Metrics.save(Path.of(config.statisticsPath));
+            return;
+        }
+
+        final var resolver = ResolverFactory.create(config.resolverType, config);
+        final var result = Metrics.measure("resolve", () -> resolver.resolve(connectionSchedules, flybySchedules, satellitesParams, config));
+
+        try (final var checker = new ResultChecker(connectionSchedules, flybySchedules, config)) {
+            final var writer = new ResultsWriter(connectionSchedules, flybySchedules, satellitesParams, config);
+            checker.check(result);
+            writer.save(result);
+            /* Saved before the comparison, so that sweep counters describe the main resolver only. */
+            Metrics.save(Path.of(config.statisticsPath));
+
+            log.info("Schedule calculation complete.");
+
+            if (config.compareResolverType != null) {
+                final var compareResult = ResolverFactory.create(config.compareResolverType, config)
+                        .resolve(connectionSchedules, flybySchedules, satellitesParams, config);
+                checker.check(compareResult);
+                writer.saveComparison(config.resolverType, result, config.compareResolverType, compareResult);
+
+                log.info("Resolver comparison complete.");
+            }
+        }
+    }
 
-       resolver.calculate();
+    private static void resolveSliced(Schedule connectionSchedules, Schedule flybySchedules, SatelliteParams[] satellitesParams, Config config) {
+        if (config.resolverType != ResolverTypes.FIFO || config.compareResolverType != null || config.resolverThreads != 1) {
+            log.warn("Sliced calculation supports FIFO only: resolverType, compareResolverType and resolverThreads are ignored.");
+        }
+        try (final var writer = new SlicedResultsWriter(connectionSchedules, flybySchedules, satellitesParams, config)) {
+            try (final var ignored = Metrics.start("resolve")) {
+                new SlicedFifoResolver().resolve(connectionSchedules, flybySchedules, satellitesParams, config, writer);
+            }
+            try (final var ignored = Metrics.start("write.finish")) {
+                writer.finish();
+            }
+        }
 
         log.info("Schedule calculation complete.");
     }
@@ -7,6 +7,7 @@ import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -25,6 +26,26 @@ public class Config {
     public static final String TIME_STEP = "timeStep";
     public static final String MAIN_DATE_TIME_PATTERN = "mainDateTimePattern";
     public static final String STATISTICS_DATE_TIME_PATTERN = "statisticsDateTimePattern";
+    public static final String LOADER_MODE = "loaderMode";
+    public static final String LOADER_THREADS = "loaderThreads";
+    public static final String SCHEDULES_CACHE_PATH = "schedulesCachePath";
+    public static final String RESOLVER_TYPE = "resolverType";
+    public static final String COMPARE_RESOLVER_TYPE = "compareResolverType";
+    public static final String WRITER_THREADS = "writerThreads";
+    public static final String RESOLVER_THREADS = "resolverThreads";
+    public static final String SLICE_HOURS = "sliceHours";
+    public static final String RESOLVER_STATE_PATH = "resolverStatePath";
+    public static final String SERVICE_PORT = "servicePort";
+    public static final String VERIFICATION_LEVEL = "verificationLevel";
+    public static final String VERIFICATION_SAMPLE_STEP = "verificationSampleStep";
+    public static final String VERIFICATION_THREADS = "verificationThreads";
+    public static final String TIME_TICK = "timeTick";
+    public static final String SATELLITE_PARAMS_PATH = "satelliteParamsPath";
+    public static final String STATION_ANTENNAS = "stationAntennas";
+    public static final String FLOW_WINDOW_HOURS = "flowWindowHours";
+    public static final String FLOW_TIME_BUDGET = "flowTimeBudget";
+    public static final String LOCAL_SEARCH_TIME_BUDGET = "localSearchTimeBudget";
+    public static final String LOCAL_SEARCH_THREADS = "localSearchThreads";
 
     public final String connectionSchedulesPath;
     public final String connectionScheduleFileNameStart;
@@ -35,4 +56,34 @@ public class Config {
     public final DateTimeFormatter mainDateTimeFormatter;
     public final DateTimeFormatter statisticsDateTimeFormatter;
     public final int timeStep;
+    public final LoaderModes loaderMode;
+    public final String mainDateTimePattern;
+    public final int loaderThreads;
+    public final String schedulesCachePath;
+    public final ResolverTypes resolverType;
+    public final ResolverTypes compareResolverType;
+    public final int writerThreads;
+    public final String statisticsDateTimePattern;
+    public final int resolverThreads;
+    public final int sliceHours;
+    public final String resolverStatePath;
+    public final int servicePort;
+    public final VerificationLevels verificationLevel;
+    public final int verificationSampleStep;
+    public final int verificationThreads;
+    public final int timeTick;
+    public final String satelliteParamsPath;
+    public final Map<String, Integer> stationAntennas;
+    public final int flowWindowHours;
+    public final int flowTimeBudget;
+    public final int localSearchTimeBudget;
+    public final int localSearchThreads;
+
+    public int getTimeStepTicks() {
+        return timeStep / timeTick;
+    }
+
+    public int getAntennaCount(String stationName) {
+        return stationAntennas.getOrDefault(stationName, 1);
+    }
 }
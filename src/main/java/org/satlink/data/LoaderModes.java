@@ -0,0 +1,7 @@
+package org.satlink.data;
+
+public enum LoaderModes {
+    LEGACY,
+    STREAMING,
+    MAPPED,
+}
@@ -0,0 +1,8 @@
+package org.satlink.data;
+
+public enum ResolverTypes {
+    FIFO,
+    GREEDY,
+    FLOW_GUIDED,
+    LOCAL_SEARCH,
+}
@@ -2,15 +2,79 @@ package org.satlink.data;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.satlink.utils.SortUtils;
 
 import java.time.LocalDateTime;
 
 @Getter
 @RequiredArgsConstructor
-@SuppressWarnings("ClassCanBeRecord")
 public class Schedule {
     private final LocalDateTime startInstant;
     private final String[] stationNames;
     private final String[] satelliteNames;
-    private final int[][] records;
+    private final int[] stationIds;
+    private final int[] satelliteIds;
+    private final int[] startTimes;
+    private final int[] stopTimes;
+
+    public int size() {
+        return startTimes.length;
+    }
+
+    /*
+     * The resolver compares visibility windows with shooting periods directly, so both schedules must count
+     * from the same epoch: the earlier of the two midnights. The epochs differ by whole days, which are whole
+     * ticks, and the shift is checked for overflow like any other offset.
+     */
+    public Schedule alignTo(Schedule other, int timeTick) {
+        if (!other.startInstant.isBefore(startInstant)) return this;
+        if (size() == 0) return new Schedule(other.startInstant, stationNames, satelliteNames, stationIds, satelliteIds, startTimes, stopTimes);
+
+        final var shiftMillis = ScheduleColumns.toEpochMillis(startInstant) - ScheduleColumns.toEpochMillis(other.startInstant);
+        return new Schedule(other.startInstant, stationNames, satelliteNames, stationIds, satelliteIds,
+                shift(startTimes, shiftMillis, timeTick), shift(stopTimes, shiftMillis, timeTick));
+    }
+
+    public Schedule select(int[] indexes) {
+        return new Schedule(
+                startInstant,
+                stationNames,
+                satelliteNames,
+                stationIds != null ? select(stationIds, indexes) : null,
+                select(satelliteIds, indexes),
+                select(startTimes, indexes),
+                select(stopTimes, indexes)
+        );
+    }
+
+    public void sortByTime() {
+        permute(SortUtils.sortedOrder(startTimes, stopTimes));
+    }
+
+    public void sortBySatellite() {
+        permute(SortUtils.sortedOrder(satelliteIds, startTimes));
+    }
+
+    private static int[] shift(int[] values, long shiftMillis, int timeTick) {
+        final var result = new int[values.length];
+        for (var i = 0; i < values.length; i++) {
+            result[i] = ScheduleColumns.toStartTicks((long) values[i] * timeTick + shiftMillis, timeTick);
+        }
+        return result;
+    }
+
+    private static int[] select(int[] values, int[] indexes) {
+        final var result = new int[indexes.length];
+        for (var i = 0; i < indexes.length; i++) {
+            result[i] = values[indexes[i]];
+        }
+        return result;
+    }
+
+    private void permute(int[] order) {
+        if (stationIds != null) SortUtils.permute(stationIds, order);
+        SortUtils.permute(satelliteIds, order);
+        SortUtils.permute(startTimes, order);
+        SortUtils.permute(stopTimes, order);
+    }
 }
@@ -0,0 +1,168 @@
+package org.satlink.data;
+
+import org.satlink.exceptions.TimeOverflowException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ScheduleColumns {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean withStations;
+    private final Map<String, Integer> stationIds = new HashMap<>();
+    private final Map<String, Integer> satelliteIds = new HashMap<>();
+    private final List<String> stationNames = new ArrayList<>();
+    private final List<String> satelliteNames = new ArrayList<>();
+
+    private int[] stations;
+    private int[] satellites = new int[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] stopTimes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public ScheduleColumns(boolean withStations) {
+        this.withStations = withStations;
+        this.stations = withStations ? new int[INITIAL_CAPACITY] : null;
+    }
+
+    public boolean hasStations() {
+        return withStations;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int stationId(String stationName) {
+        return stationIds.computeIfAbsent(stationName, name -> {
+            stationNames.add(name);
+            return stationNames.size() - 1;
+        });
+    }
+
+    public int satelliteId(String satelliteName) {
+        return satelliteIds.computeIfAbsent(satelliteName, name -> {
+            satelliteNames.add(name);
+            return satelliteNames.size() - 1;
+        });
+    }
+
+    public void add(int stationId, int satelliteId, long startTime, long stopTime) {
+        if (size == satellites.length) grow();
+        if (withStations) stations[size] = stationId;
+        satellites[size] = satelliteId;
+        startTimes[size] = startTime;
+        stopTimes[size] = stopTime;
+        size++;
+    }
+
+    public void append(ScheduleColumns other) {
+        final var stationRemap = new int[other.stationNames.size()];
+        for (var i = 0; i < stationRemap.length; i++) {
+            stationRemap[i] = stationId(other.stationNames.get(i));
+        }
+        final var satelliteRemap = new int[other.satelliteNames.size()];
+        for (var i = 0; i < satelliteRemap.length; i++) {
+            satelliteRemap[i] = satelliteId(other.satelliteNames.get(i));
+        }
+        for (var i = 0; i < other.size; i++) {
+            final var stationId = withStations ? stationRemap[other.stations[i]] : 0;
+            add(stationId, satelliteRemap[other.satellites[i]], other.startTimes[i], other.stopTimes[i]);
+        }
+    }
+
+    public Schedule toSchedule(int timeTick) {
+        var minStartTime = Long.MAX_VALUE;
+        for (var i = 0; i < size; i++) {
+            if (startTimes[i] < minStartTime) minStartTime = startTimes[i];
+        }
+
+        final var startInstant = size == 0
+                ? LocalDateTime.MAX.toLocalDate().atStartOfDay()
+                : toLocalDateTime(minStartTime).toLocalDate().atStartOfDay();
+        final var baseTime = size == 0 ? 0 : toEpochMillis(startInstant);
+
+        final var sortedStationNames = withStations ? sortedNames(stationNames) : null;
+        final var stationRemap = withStations ? remap(stationNames, sortedStationNames) : null;
+        final var sortedSatelliteNames = sortedNames(satelliteNames);
+        final var satelliteRemap = remap(satelliteNames, sortedSatelliteNames);
+
+        final var resultStations = withStations ? new int[size] : null;
+        final var resultSatellites = new int[size];
+        final var resultStartTimes = new int[size];
+        final var resultStopTimes = new int[size];
+        for (var i = 0; i < size; i++) {
+            if (withStations) resultStations[i] = stationRemap[stations[i]];
+            resultSatellites[i] = satelliteRemap[satellites[i]];
+            resultStartTimes[i] = toStartTicks(startTimes[i] - baseTime, timeTick);
+            resultStopTimes[i] = toStopTicks(stopTimes[i] - baseTime, resultStartTimes[i], timeTick);
+        }
+
+        return new Schedule(
+                startInstant,
+                sortedStationNames,
+                sortedSatelliteNames,
+                resultStations,
+                resultSatellites,
+                resultStartTimes,
+                resultStopTimes
+        );
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    /*
+     * Offsets are stored as int ticks of timeTick milliseconds, so a horizon of 2^31 ticks fits (24.8 days at
+     * 1 ms, 248 days at 10 ms) and anything longer is rejected. Starts are rounded up and stops down, so a
+     * window or a shooting period never covers time outside the input one; a period shorter than a tick
+     * becomes empty at its rounded start.
+     */
+    public static int toStartTicks(long offsetMillis, int timeTick) {
+        return checkTicks(Math.floorDiv(offsetMillis + timeTick - 1, timeTick), offsetMillis, timeTick);
+    }
+
+    public static int toStopTicks(long offsetMillis, int startTicks, int timeTick) {
+        return Math.max(checkTicks(Math.floorDiv(offsetMillis, timeTick), offsetMillis, timeTick), startTicks);
+    }
+
+    private static int checkTicks(long ticks, long offsetMillis, int timeTick) {
+        if (ticks != (int) ticks) {
+            throw new TimeOverflowException("Schedule time " + offsetMillis + " ms from the epoch does not fit into int ticks of " + timeTick
+                    + " ms. Increase " + Config.TIME_TICK + ".");
+        }
+        return (int) ticks;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private void grow() {
+        final var capacity = satellites.length * 2;
+        if (withStations) stations = Arrays.copyOf(stations, capacity);
+        satellites = Arrays.copyOf(satellites, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        stopTimes = Arrays.copyOf(stopTimes, capacity);
+    }
+
+    private static String[] sortedNames(List<String> names) {
+        final var result = names.toArray(new String[0]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static int[] remap(List<String> names, String[] sortedNames) {
+        final var result = new int[names.size()];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = Arrays.binarySearch(sortedNames, names.get(i));
+        }
+        return result;
+    }
+}
@@ -1,7 +1,30 @@
 package org.satlink.exceptions;
 
+import java.util.List;
+
 public class ResultIntegrityException extends RuntimeException{
+    private static final int MAX_REPORTED_VIOLATIONS = 100;
+
     public ResultIntegrityException(String message) {
         super(message);
     }
+
+    public ResultIntegrityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ResultIntegrityException(List<String> violations) {
+        super(buildMessage(violations));
+    }
+
+    private static String buildMessage(List<String> violations) {
+        final var result = new StringBuilder("Found ").append(violations.size()).append(" integrity violation(s):");
+        for (final var violation : violations.subList(0, Math.min(violations.size(), MAX_REPORTED_VIOLATIONS))) {
+            result.append('\n').append(violation);
+        }
+        if (violations.size() > MAX_REPORTED_VIOLATIONS) {
+            result.append("\n... and ").append(violations.size() - MAX_REPORTED_VIOLATIONS).append(" more");
+        }
+        return result.toString();
+    }
 }
@@ -0,0 +1,19 @@
+package org.satlink.exceptions;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public class ResultWriteException extends RuntimeException {
+    public ResultWriteException(Map<Path, Throwable> failures) {
+        super(buildMessage(failures));
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    private static String buildMessage(Map<Path, Throwable> failures) {
+        final var result = new StringBuilder("Failed to write ").append(failures.size()).append(" output file(s):");
+        for (final var failure : failures.entrySet()) {
+            result.append('\n').append(failure.getKey()).append(": ").append(failure.getValue());
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package org.satlink.exceptions;
+
+public class TimeOverflowException extends RuntimeException {
+    public TimeOverflowException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,9 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.satlink.Main;
 import org.satlink.data.Config;
+import org.satlink.data.LoaderModes;
+import org.satlink.data.ResolverTypes;
+import org.satlink.data.VerificationLevels;
 import org.satlink.exceptions.ConfigLoadException;
 
 import java.net.URL;
@@ -11,7 +14,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.satlink.data.Config.*;
@@ -19,6 +24,8 @@ import static org.satlink.data.Config.*;
 @Slf4j
 @UtilityClass
 public class ConfigLoader {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
     public static Config loadConfig() {
         final var currentFolder = getCurrentFolder();
         if (currentFolder != null) {
@@ -37,6 +44,10 @@ public class ConfigLoader {
         }
     }
 
+    public static Config loadConfig(Properties props) {
+        return getConfig(props);
+    }
+
     private static Config loadPropsFromCurrentDirectory(Path currentFolder) {
         final var configPath = currentFolder.resolve(CONFIG_FILE_NAME);
         log.info("Application properties path: " + configPath);
@@ -70,7 +81,7 @@ public class ConfigLoader {
     }
 
     private static Config getConfig(Properties props) {
-        return new Config(
+        final var config = new Config(
                 props.getProperty(CONNECTION_SCHEDULES_PATH),
                 props.getProperty(CONNECTION_SCHEDULES_FILENAME_START),
                 props.getProperty(FLYBY_SCHEDULES_PATH),
@@ -79,6 +90,64 @@ public class ConfigLoader {
                 props.getProperty(STATISTICS_PATH),
                 DateTimeFormatter.ofPattern(props.getProperty(MAIN_DATE_TIME_PATTERN), Locale.US),
                 DateTimeFormatter.ofPattern(props.getProperty(STATISTICS_DATE_TIME_PATTERN)),
-                Integer.parseInt(props.getProperty(TIME_STEP)));
+                Integer.parseInt(props.getProperty(TIME_STEP)),
+                LoaderModes.valueOf(props.getProperty(LOADER_MODE, LoaderModes.STREAMING.name()).trim()),
+                props.getProperty(MAIN_DATE_TIME_PATTERN),
+                Integer.parseInt(props.getProperty(LOADER_THREADS, "1").trim()),
+                props.getProperty(SCHEDULES_CACHE_PATH, "").trim(),
+                ResolverTypes.valueOf(props.getProperty(RESOLVER_TYPE, ResolverTypes.FIFO.name()).trim()),
+                getOptionalResolverType(props.getProperty(COMPARE_RESOLVER_TYPE, "")),
+                Integer.parseInt(props.getProperty(WRITER_THREADS, "0").trim()),
+                props.getProperty(STATISTICS_DATE_TIME_PATTERN),
+                Integer.parseInt(props.getProperty(RESOLVER_THREADS, "1").trim()),
+                Integer.parseInt(props.getProperty(SLICE_HOURS, "0").trim()),
+                props.getProperty(RESOLVER_STATE_PATH, "").trim(),
+                Integer.parseInt(props.getProperty(SERVICE_PORT, "0").trim()),
+                VerificationLevels.valueOf(props.getProperty(VERIFICATION_LEVEL, VerificationLevels.FULL.name()).trim()),
+                Integer.parseInt(props.getProperty(VERIFICATION_SAMPLE_STEP, "100").trim()),
+                Integer.parseInt(props.getProperty(VERIFICATION_THREADS, "0").trim()),
+                Integer.parseInt(props.getProperty(TIME_TICK, "1").trim()),
+                props.getProperty(SATELLITE_PARAMS_PATH, "").trim(),
+                getStationAntennas(props.getProperty(STATION_ANTENNAS, "")),
+                Integer.parseInt(props.getProperty(FLOW_WINDOW_HOURS, "12").trim()),
+                Integer.parseInt(props.getProperty(FLOW_TIME_BUDGET, "60").trim()),
+                Integer.parseInt(props.getProperty(LOCAL_SEARCH_TIME_BUDGET, "30").trim()),
+                Integer.parseInt(props.getProperty(LOCAL_SEARCH_THREADS, "0").trim()));
+        checkTimeTick(config);
+        if (config.flowWindowHours <= 0) throw new ConfigLoadException(FLOW_WINDOW_HOURS + " must be positive, got " + config.flowWindowHours);
+        return config;
+    }
+
+    /*
+     * Schedule epochs are midnights, so a tick dividing a day keeps the shift between the epochs of two
+     * schedules a whole number of ticks; a tick dividing timeStep keeps quanta the configured length.
+     */
+    private static void checkTimeTick(Config config) {
+        if (config.timeTick <= 0 || MILLIS_PER_DAY % config.timeTick != 0 || config.timeStep % config.timeTick != 0) {
+            throw new ConfigLoadException(TIME_TICK + " must be a positive divisor of a day (86400000 ms) and of " + TIME_STEP + ", got " + config.timeTick);
+        }
+    }
+
+    private static Map<String, Integer> getStationAntennas(String value) {
+        final var result = new HashMap<String, Integer>();
+        for (final var item : value.split(",")) {
+            if (item.isBlank()) continue;
+            final var parts = item.split(":");
+            final var error = STATION_ANTENNAS + " expects \"station: count\" pairs with positive counts, got \"" + item.trim() + "\"";
+            if (parts.length != 2 || parts[0].isBlank()) throw new ConfigLoadException(error);
+            final int count;
+            try {
+                count = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new ConfigLoadException(error, e);
+            }
+            if (count < 1) throw new ConfigLoadException(error);
+            result.put(parts[0].trim(), count);
+        }
+        return result;
+    }
+
+    private static ResolverTypes getOptionalResolverType(String value) {
+        return value.isBlank() ? null : ResolverTypes.valueOf(value.trim());
     }
 }
@@ -0,0 +1,95 @@
+package org.satlink.loaders;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.exceptions.ConfigLoadException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@UtilityClass
+public class SatelliteParamsLoader {
+    private static final String COMMENT_MARKER = "#";
+    private static final String DEFAULT_PATTERN = "*";
+    private static final String SEPARATOR = ",";
+
+    /*
+     * Rows are matched by exact satellite name first, then by the longest "prefix*" pattern, then by the "*"
+     * row; maxTimeAmount is given in milliseconds and must be a whole number of ticks.
+     */
+    public static SatelliteParams[] load(Path paramsFile, String[] satelliteNames, Config config) {
+        final var exactRows = new HashMap<String, SatelliteParams>();
+        final var prefixRows = new ArrayList<Map.Entry<String, SatelliteParams>>();
+        readRows(paramsFile, config, exactRows, prefixRows);
+        prefixRows.sort(Comparator.comparingInt((Map.Entry<String, SatelliteParams> row) -> row.getKey().length()).reversed());
+
+        final var result = new SatelliteParams[satelliteNames.length];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = find(satelliteNames[i], exactRows, prefixRows);
+            if (result[i] == null) {
+                throw new ConfigLoadException("No parameters for satellite " + satelliteNames[i] + " in " + paramsFile + ", add its row or a \"" + DEFAULT_PATTERN + "\" row.");
+            }
+        }
+        log.info("Satellite params loaded from " + paramsFile + ".");
+        return result;
+    }
+
+    private static SatelliteParams find(String satelliteName, Map<String, SatelliteParams> exactRows, List<Map.Entry<String, SatelliteParams>> prefixRows) {
+        final var exact = exactRows.get(satelliteName);
+        if (exact != null) return exact;
+        for (final var row : prefixRows) {
+            if (satelliteName.startsWith(row.getKey())) return row.getValue();
+        }
+        return null;
+    }
+
+    private static void readRows(Path paramsFile, Config config, Map<String, SatelliteParams> exactRows, List<Map.Entry<String, SatelliteParams>> prefixRows) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(paramsFile);
+        } catch (Exception e) {
+            throw new ConfigLoadException("Failed to read satellite params " + paramsFile, e);
+        }
+
+        var headerSkipped = false;
+        for (var lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            final var line = lines.get(lineNumber - 1).trim();
+            if (line.isEmpty() || line.startsWith(COMMENT_MARKER)) continue;
+            if (!headerSkipped) {
+                headerSkipped = true;
+                continue;
+            }
+            final var fields = line.split(SEPARATOR);
+            try {
+                if (fields.length != 4) throw new IllegalArgumentException("4 fields expected");
+                final var name = fields[0].trim();
+                final var maxTimeAmount = Integer.parseInt(fields[1].trim());
+                if (maxTimeAmount % config.timeTick != 0) {
+                    throw new IllegalArgumentException("MaxTimeAmount " + maxTimeAmount + " ms is not a multiple of " + Config.TIME_TICK + " " + config.timeTick + " ms");
+                }
+                final var params = new SatelliteParams(
+                        maxTimeAmount / config.timeTick,
+                        Integer.parseInt(fields[2].trim()),
+                        Integer.parseInt(fields[3].trim()));
+                if (params.getTransmitRatio() <= 0 || params.getBandwidth() < 0 || params.getMaxTimeAmount() < 0) {
+                    throw new IllegalArgumentException("negative amount or non-positive transmit ratio");
+                }
+                if (name.endsWith(DEFAULT_PATTERN)) {
+                    prefixRows.add(Map.entry(name.substring(0, name.length() - 1), params));
+                } else {
+                    exactRows.put(name, params);
+                }
+            } catch (Exception e) {
+                throw new ConfigLoadException("Failed to parse satellite params " + paramsFile + ", line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package org.satlink.loaders;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.LoaderModes;
+import org.satlink.data.ParserStates;
+import org.satlink.data.ScheduleColumns;
+import org.satlink.exceptions.ConnectionSchedulesParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+@Slf4j
+public class ScheduleFileParser {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_MAPPED_WINDOW = 1 << 30;
+    private static final byte[] HEADER_MARKER = "-----".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER_SEPARATOR = "-To-".getBytes(StandardCharsets.US_ASCII);
+    private static final int ACCESS_START = 0;
+    private static final int ACCESS_END = 24;
+    private static final int START_TIME_START = 28;
+    private static final int START_TIME_END = 52;
+    private static final int STOP_TIME_START = 56;
+    private static final int STOP_TIME_END = 80;
+    private static final int DURATION_START = 85;
+    private static final int DURATION_END = 98;
+    private static final long DURATION_TOLERANCE_MILLIS = 1;
+
+    private final Config config;
+    private final ScheduleColumns target;
+    private final boolean stkTimestamps;
+    private final AsciiCharSequence timeSequence = new AsciiCharSequence();
+
+    private ByteBuffer readBuffer;
+    private ParserStates parserState;
+    private byte[] headerLine = new byte[256];
+    private int headerLength;
+    private int stationId;
+    private int satelliteId;
+
+    public ScheduleFileParser(Config config, ScheduleColumns target) {
+        this.config = config;
+        this.target = target;
+        this.stkTimestamps = StkDateTimeDecoder.PATTERN.equals(config.mainDateTimePattern);
+    }
+
+    public void parse(File file) {
+        reset();
+        try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (config.loaderMode == LoaderModes.MAPPED) {
+                parseMapped(channel);
+            } else {
+                parseStreaming(channel);
+            }
+        } catch (IOException e) {
+            throw new ConnectionSchedulesParserException(e.getMessage(), e);
+        }
+    }
+
+    private void parseStreaming(FileChannel channel) throws IOException {
+        if (readBuffer == null) readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        var buffer = readBuffer.clear();
+        var endOfFile = false;
+        while (!endOfFile) {
+            endOfFile = channel.read(buffer) < 0;
+            buffer.flip();
+            buffer.position(parseLines(buffer, 0, buffer.limit(), endOfFile));
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                readBuffer = buffer;
+            }
+        }
+    }
+
+    private void parseMapped(FileChannel channel) throws IOException {
+        final var fileSize = channel.size();
+        var position = 0L;
+        while (position < fileSize) {
+            final var windowSize = (int) Math.min(MAX_MAPPED_WINDOW, fileSize - position);
+            final var lastWindow = position + windowSize == fileSize;
+            final var window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            final var consumed = parseLines(window, 0, windowSize, lastWindow);
+            if (consumed == 0) throw new ConnectionSchedulesParserException("Line is longer than mapped window.");
+            position += consumed;
+        }
+    }
+
+    int parseLines(ByteBuffer buffer, int from, int to, boolean lastChunk) {
+        var lineStart = from;
+        var i = from;
+        while (i < to) {
+            final var b = buffer.get(i);
+            if (b != '\n' && b != '\r') {
+                i++;
+                continue;
+            }
+            if (b == '\r' && i + 1 == to && !lastChunk) break;
+            parseLine(buffer, lineStart, i);
+            i += b == '\r' && i + 1 < to && buffer.get(i + 1) == '\n' ? 2 : 1;
+            lineStart = i;
+        }
+        if (lastChunk && lineStart < to) {
+            parseLine(buffer, lineStart, to);
+            return to;
+        }
+        return lineStart;
+    }
+
+    private void parseLine(ByteBuffer line, int from, int to) {
+        switch (parserState) {
+            case SEARCH_BLOCK_START -> {
+                if (startsWith(line, from, to, HEADER_MARKER) && headerLength > 0) {
+                    final var headerParts = new String(headerLine, 0, headerLength, StandardCharsets.UTF_8).trim().split("-");
+                    if (target.hasStations()) stationId = target.stationId(headerParts[0]);
+                    satelliteId = target.satelliteId(headerParts[2]);
+                    parserState = parserState.nextState();
+                }
+            }
+            case SEARCH_DATA_START -> {
+                if (startsWith(line, skipWhitespace(line, from, to), to, HEADER_MARKER)) {
+                    parserState = parserState.nextState();
+                }
+            }
+            case PARSING_DATA -> {
+                if (isBlank(line, from, to)) {
+                    parserState = parserState.nextState();
+                    break;
+                }
+                if (to - from < DURATION_END) throw new ConnectionSchedulesParserException("Truncated data row.");
+                parseAccess(line, from + ACCESS_START, from + ACCESS_END);
+                final var startTime = parseTime(line, from + START_TIME_START, from + START_TIME_END);
+                final var stopTime = parseTime(line, from + STOP_TIME_START, from + STOP_TIME_END);
+                final var duration = parseDurationMillis(line, from + DURATION_START, from + DURATION_END);
+                if (Math.abs(stopTime - startTime - duration) > DURATION_TOLERANCE_MILLIS) {
+                    log.warn("Duration does not match start and stop times: " + timeSequence.wrap(line, from, to).toString().trim());
+                }
+                target.add(stationId, satelliteId, startTime, stopTime);
+            }
+        }
+        rememberHeaderCandidate(line, from, to);
+    }
+
+    private void rememberHeaderCandidate(ByteBuffer line, int from, int to) {
+        headerLength = 0;
+        if (parserState != ParserStates.SEARCH_BLOCK_START || indexOf(line, from, to, HEADER_SEPARATOR) < 0) return;
+        if (headerLine.length < to - from) headerLine = Arrays.copyOf(headerLine, to - from);
+        line.get(from, headerLine, 0, to - from);
+        headerLength = to - from;
+    }
+
+    private long parseTime(ByteBuffer line, int from, int to) {
+        from = skipWhitespace(line, from, to);
+        to = trimWhitespace(line, from, to);
+        if (stkTimestamps) {
+            final var result = StkDateTimeDecoder.decode(line, from, to);
+            if (result != StkDateTimeDecoder.INVALID) return result;
+        }
+        timeSequence.wrap(line, from, to);
+        return ScheduleColumns.toEpochMillis(config.mainDateTimeFormatter.parse(timeSequence, LocalDateTime::from));
+    }
+
+    /* Duration is given in seconds, fraction digits beyond milliseconds are rounded. */
+    private static long parseDurationMillis(ByteBuffer line, int from, int to) {
+        from = skipWhitespace(line, from, to);
+        to = trimWhitespace(line, from, to);
+        var seconds = 0L;
+        var millis = 0L;
+        var scale = 1000L;
+        var fraction = false;
+        var digits = 0;
+        for (var i = from; i < to; i++) {
+            final var b = line.get(i);
+            if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b >= '0' && b <= '9') {
+                digits++;
+                if (!fraction) {
+                    if (seconds > Long.MAX_VALUE / 10000) throw new ConnectionSchedulesParserException("Invalid duration.");
+                    seconds = seconds * 10 + (b - '0');
+                } else if (scale > 1) {
+                    scale /= 10;
+                    millis += (b - '0') * scale;
+                } else if (scale == 1) {
+                    if (b >= '5') millis++;
+                    scale = 0;
+                }
+            } else {
+                throw new ConnectionSchedulesParserException("Invalid duration.");
+            }
+        }
+        if (digits == 0) throw new ConnectionSchedulesParserException("Empty duration.");
+        return seconds * 1000 + millis;
+    }
+
+    private static void parseAccess(ByteBuffer line, int from, int to) {
+        from = skipWhitespace(line, from, to);
+        to = trimWhitespace(line, from, to);
+        if (from == to) throw new ConnectionSchedulesParserException("Empty access number.");
+        for (var i = from; i < to; i++) {
+            final var b = line.get(i);
+            if ((b < '0' || b > '9') && !(i == from && (b == '-' || b == '+') && to - from > 1)) {
+                throw new ConnectionSchedulesParserException("Invalid access number.");
+            }
+        }
+    }
+
+    private void reset() {
+        parserState = ParserStates.SEARCH_BLOCK_START;
+        headerLength = 0;
+        stationId = 0;
+        satelliteId = 0;
+    }
+
+    static boolean startsWith(ByteBuffer line, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) return false;
+        for (var i = 0; i < prefix.length; i++) {
+            if (line.get(from + i) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    static int indexOf(ByteBuffer line, int from, int to, byte[] pattern) {
+        for (var i = from; i <= to - pattern.length; i++) {
+            if (startsWith(line, i, to, pattern)) return i;
+        }
+        return -1;
+    }
+
+    static int skipWhitespace(ByteBuffer line, int from, int to) {
+        while (from < to && (line.get(from) & 0xff) <= ' ') from++;
+        return from;
+    }
+
+    static int trimWhitespace(ByteBuffer line, int from, int to) {
+        while (to > from && (line.get(to - 1) & 0xff) <= ' ') to--;
+        return to;
+    }
+
+    private static boolean isBlank(ByteBuffer line, int from, int to) {
+        for (var i = from; i < to; i++) {
+            final var b = line.get(i);
+            if (b != ' ' && (b < '\t' || b > '\r') && (b < 0x1c || b > 0x1f)) return false;
+        }
+        return true;
+    }
+
+    static class AsciiCharSequence implements CharSequence {
+        private ByteBuffer buffer;
+        private int from;
+        private int to;
+
+        AsciiCharSequence wrap(ByteBuffer buffer, int from, int to) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return to - from;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(from + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new AsciiCharSequence().wrap(buffer, from + start, from + end);
+        }
+
+        @Override
+        public String toString() {
+            final var bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
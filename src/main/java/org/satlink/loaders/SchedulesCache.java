@@ -0,0 +1,151 @@
+package org.satlink.loaders;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.Schedule;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Slf4j
+@UtilityClass
+public class SchedulesCache {
+    private static final int MAGIC = 0x534c5343;
+    private static final int VERSION = 3;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    public static String buildKey(List<File> fileList, Config config) {
+        final var result = new StringBuilder(config.mainDateTimePattern).append('|').append(config.timeTick);
+        for (final var file : fileList) {
+            result.append('\n')
+                    .append(getCanonicalPath(file)).append('|')
+                    .append(file.length()).append('|')
+                    .append(file.lastModified());
+        }
+        return result.toString();
+    }
+
+    private static String getCanonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    public static Schedule load(Path cacheFile, String key) {
+        if (!Files.isRegularFile(cacheFile)) return null;
+
+        try (final var channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (!key.equals(readString(buffer))) return null;
+            return readSchedule(buffer);
+        } catch (Exception e) {
+            log.warn("Failed to read schedules cache " + cacheFile + ", input files will be parsed.", e);
+            return null;
+        }
+    }
+
+    public static void save(Path cacheFile, String key, Schedule schedule) {
+        final var tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), WRITE_BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, key);
+                writeSchedule(output, schedule);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Failed to save schedules cache " + cacheFile + ".", e);
+        }
+    }
+
+    public static void writeSchedule(DataOutputStream output, Schedule schedule) throws IOException {
+        output.writeLong(schedule.getStartInstant().toLocalDate().toEpochDay());
+        output.writeLong(schedule.getStartInstant().toLocalTime().toNanoOfDay());
+        writeStrings(output, schedule.getStationNames());
+        writeStrings(output, schedule.getSatelliteNames());
+        output.writeInt(schedule.size());
+        output.writeInt(schedule.getStationIds() != null ? 1 : 0);
+        if (schedule.getStationIds() != null) writeColumn(output, schedule.getStationIds());
+        writeColumn(output, schedule.getSatelliteIds());
+        writeColumn(output, schedule.getStartTimes());
+        writeColumn(output, schedule.getStopTimes());
+    }
+
+    public static Schedule readSchedule(ByteBuffer buffer) {
+        final var startInstant = LocalDateTime.of(LocalDate.ofEpochDay(buffer.getLong()), LocalTime.ofNanoOfDay(buffer.getLong()));
+        final var stationNames = readStrings(buffer);
+        final var satelliteNames = readStrings(buffer);
+        final var recordCount = buffer.getInt();
+        final var withStations = buffer.getInt() != 0;
+
+        final var columns = buffer.slice().asIntBuffer();
+        final var stationIds = withStations ? readColumn(columns, recordCount) : null;
+        final var satelliteIds = readColumn(columns, recordCount);
+        final var startTimes = readColumn(columns, recordCount);
+        final var stopTimes = readColumn(columns, recordCount);
+        buffer.position(buffer.position() + columns.position() * Integer.BYTES);
+        return new Schedule(startInstant, stationNames, satelliteNames, stationIds, satelliteIds, startTimes, stopTimes);
+    }
+
+    public static void writeColumn(DataOutputStream output, int[] column) throws IOException {
+        for (final var value : column) {
+            output.writeInt(value);
+        }
+    }
+
+    public static int[] readColumn(IntBuffer columns, int size) {
+        final var result = new int[size];
+        columns.get(result);
+        return result;
+    }
+
+    private static void writeStrings(DataOutputStream output, String[] values) throws IOException {
+        output.writeInt(values == null ? -1 : values.length);
+        if (values == null) return;
+        for (final var value : values) {
+            writeString(output, value);
+        }
+    }
+
+    public static void writeString(DataOutputStream output, String value) throws IOException {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        final var count = buffer.getInt();
+        if (count < 0) return null;
+        final var result = new String[count];
+        for (var i = 0; i < count; i++) {
+            result[i] = readString(buffer);
+        }
+        return result;
+    }
+
+    public static String readString(ByteBuffer buffer) {
+        final var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
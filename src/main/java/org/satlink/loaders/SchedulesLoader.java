@@ -3,8 +3,10 @@ package org.satlink.loaders;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.satlink.data.*;
+import org.satlink.exceptions.ConfigLoadException;
 import org.satlink.exceptions.ConnectionSchedulesParserException;
 import org.satlink.utils.FileUtils;
+import org.satlink.utils.Metrics;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -12,17 +14,68 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @UtilityClass
 public class SchedulesLoader {
     private static final String ERROR_TEXT = "Failed to parse file ";
     private static final String HEADER_MARKER = "-----";
+    private static final String CONNECTION_SCHEDULES_CACHE = "ConnectionSchedules.bin";
+    private static final String FLYBY_SCHEDULES_CACHE = "FlybySchedules.bin";
 
-    @SuppressWarnings("Duplicates")
     public static Schedule getConnectionSchedules(Path directoryPath, Config config) {
-        final var schedules = loadConnectionSchedules(directoryPath, config);
+        final var schedule = getCachedSchedules(directoryPath, config, SchedulesLoader::connectionScheduleFileFilter, CONNECTION_SCHEDULES_CACHE,
+                () -> parseConnectionSchedules(directoryPath, config));
+        checkStationAntennas(schedule, config);
+        return schedule;
+    }
+
+    /* A misspelt station would silently keep a single antenna. */
+    private static void checkStationAntennas(Schedule connectionSchedule, Config config) {
+        final var stationNames = new HashSet<>(Arrays.asList(connectionSchedule.getStationNames()));
+        final var unknownNames = new TreeSet<String>();
+        for (final var stationName : config.stationAntennas.keySet()) {
+            if (!stationNames.contains(stationName)) unknownNames.add(stationName);
+        }
+        if (!unknownNames.isEmpty()) {
+            throw new ConfigLoadException(Config.STATION_ANTENNAS + " names stations missing from the connection schedules: " + String.join(", ", unknownNames));
+        }
+    }
+
+    public static Schedule getFlybySchedules(Path directoryPath, Config config) {
+        return getCachedSchedules(directoryPath, config, SchedulesLoader::flybyScheduleFileFilter, FLYBY_SCHEDULES_CACHE,
+                () -> parseFlybySchedules(directoryPath, config));
+    }
+
+    private static Schedule getCachedSchedules(Path directoryPath, Config config, BiPredicate<File, Config> filter, String cacheFileName, Supplier<Schedule> parser) {
+        if (config.schedulesCachePath == null || config.schedulesCachePath.isBlank()) return parser.get();
+
+        final var cacheFile = Path.of(config.schedulesCachePath).resolve(cacheFileName);
+        final var key = SchedulesCache.buildKey(FileUtils.getFilteredFilesFromDirectory(config, directoryPath, filter), config);
+        final var cachedSchedule = Metrics.measure("cache." + cacheFileName, () -> SchedulesCache.load(cacheFile, key));
+        if (cachedSchedule != null) {
+            log.info("Schedules loaded from cache " + cacheFile);
+            return cachedSchedule;
+        }
+
+        final var schedule = parser.get();
+        SchedulesCache.save(cacheFile, key, schedule);
+        return schedule;
+    }
+
+    @SuppressWarnings("Duplicates")
+    private static Schedule parseConnectionSchedules(Path directoryPath, Config config) {
+        if (config.loaderMode != LoaderModes.LEGACY) {
+            final var columns = Metrics.measure("parse.connection", () -> loadScheduleColumns(directoryPath, config, SchedulesLoader::connectionScheduleFileFilter, true));
+            return Metrics.measure("index.connection", () -> columns.toSchedule(config.timeTick));
+        }
+
+        final var schedules = Metrics.measure("parse.connection", () -> loadConnectionSchedules(directoryPath, config));
         final var stations = new HashSet<String>();
         final var satellites = new HashSet<String>();
         final var stationsIndex = new HashMap<String, Integer>();
@@ -49,14 +102,17 @@ public class SchedulesLoader {
         final var satelliteNames = new String[satellites.size()];
         satellitesIndex.entrySet().stream().sorted(Map.Entry.comparingByValue()).forEach(o -> satelliteNames[o.getValue()] = o.getKey());
 
-        final var result = new int[schedules.size()][4];
+        final var stationIds = new int[schedules.size()];
+        final var satelliteIds = new int[schedules.size()];
+        final var startTimes = new int[schedules.size()];
+        final var stopTimes = new int[schedules.size()];
         var rowCounter = 0;
 
         for (final var entry : schedules) {
-            result[rowCounter][0] = stationsIndex.get(entry.getStationName());
-            result[rowCounter][1] = satellitesIndex.get(entry.getSatelliteName());
-            result[rowCounter][2] = (int) ChronoUnit.MILLIS.between(startInstant, entry.getStartTime());
-            result[rowCounter][3] = (int) ChronoUnit.MILLIS.between(startInstant, entry.getStopTime());
+            stationIds[rowCounter] = stationsIndex.get(entry.getStationName());
+            satelliteIds[rowCounter] = satellitesIndex.get(entry.getSatelliteName());
+            startTimes[rowCounter] = ScheduleColumns.toStartTicks(ChronoUnit.MILLIS.between(startInstant, entry.getStartTime()), config.timeTick);
+            stopTimes[rowCounter] = ScheduleColumns.toStopTicks(ChronoUnit.MILLIS.between(startInstant, entry.getStopTime()), startTimes[rowCounter], config.timeTick);
             rowCounter++;
         }
 
@@ -64,13 +120,21 @@ public class SchedulesLoader {
                 startInstant,
                 stationNames,
                 satelliteNames,
-                result
+                stationIds,
+                satelliteIds,
+                startTimes,
+                stopTimes
         );
     }
 
     @SuppressWarnings("Duplicates")
-    public static Schedule getFlybySchedules(Path directoryPath, Config config) {
-        final var schedules = loadFlybySchedules(directoryPath, config);
+    private static Schedule parseFlybySchedules(Path directoryPath, Config config) {
+        if (config.loaderMode != LoaderModes.LEGACY) {
+            final var columns = Metrics.measure("parse.flyby", () -> loadScheduleColumns(directoryPath, config, SchedulesLoader::flybyScheduleFileFilter, false));
+            return Metrics.measure("index.flyby", () -> columns.toSchedule(config.timeTick));
+        }
+
+        final var schedules = Metrics.measure("parse.flyby", () -> loadFlybySchedules(directoryPath, config));
         final var satellites = new HashSet<String>();
         final var satellitesIndex = new HashMap<String, Integer>();
         final var satelliteCounter = new AtomicInteger(0);
@@ -89,13 +153,15 @@ public class SchedulesLoader {
         final var satelliteNames = new String[satellites.size()];
         satellitesIndex.entrySet().stream().sorted(Map.Entry.comparingByValue()).forEach(o -> satelliteNames[o.getValue()] = o.getKey());
 
-        final var result = new int[schedules.size()][3];
+        final var satelliteIds = new int[schedules.size()];
+        final var startTimes = new int[schedules.size()];
+        final var stopTimes = new int[schedules.size()];
         var rowCounter = 0;
 
         for (final var entry : schedules) {
-            result[rowCounter][0] = satellitesIndex.get(entry.getSatelliteName());
-            result[rowCounter][1] = (int) ChronoUnit.MILLIS.between(startInstant, entry.getStartTime());
-            result[rowCounter][2] = (int) ChronoUnit.MILLIS.between(startInstant, entry.getStopTime());
+            satelliteIds[rowCounter] = satellitesIndex.get(entry.getSatelliteName());
+            startTimes[rowCounter] = ScheduleColumns.toStartTicks(ChronoUnit.MILLIS.between(startInstant, entry.getStartTime()), config.timeTick);
+            stopTimes[rowCounter] = ScheduleColumns.toStopTicks(ChronoUnit.MILLIS.between(startInstant, entry.getStopTime()), startTimes[rowCounter], config.timeTick);
             rowCounter++;
         }
 
@@ -103,16 +169,74 @@ public class SchedulesLoader {
                 startInstant,
                 null,
                 satelliteNames,
-                result
+                null,
+                satelliteIds,
+                startTimes,
+                stopTimes
         );
     }
 
+    public static ScheduleColumns loadScheduleColumns(Path directoryPath, Config config, BiPredicate<File, Config> filter, boolean withStations) {
+        final var fileList = FileUtils.getFilteredFilesFromDirectory(config, directoryPath, filter);
+
+        if (getLoaderThreads(config, fileList.size()) > 1) {
+            final var result = new ScheduleColumns(withStations);
+            for (final var fileColumns : parseFiles(fileList, config, file -> parseScheduleFile(file, config, new ScheduleColumns(withStations)))) {
+                result.append(fileColumns);
+            }
+            return result;
+        }
+
+        final var result = new ScheduleColumns(withStations);
+        final var parser = new ScheduleFileParser(config, result);
+        for (final var file : fileList) {
+            parseScheduleFile(file, parser);
+        }
+        return result;
+    }
+
+    private static ScheduleColumns parseScheduleFile(File file, Config config, ScheduleColumns target) {
+        parseScheduleFile(file, new ScheduleFileParser(config, target));
+        return target;
+    }
+
+    private static void parseScheduleFile(File file, ScheduleFileParser parser) {
+        try {
+            parser.parse(file);
+        } catch (Exception e) {
+            log.error(ERROR_TEXT + file.getAbsolutePath(), e);
+            throw new ConnectionSchedulesParserException(ERROR_TEXT + file.getAbsolutePath(), e);
+        }
+    }
+
+    private static <T> List<T> parseFiles(List<File> fileList, Config config, Function<File, T> fileParser) {
+        final var threads = getLoaderThreads(config, fileList.size());
+        if (threads <= 1) return fileList.stream().map(fileParser).toList();
+
+        final var pool = new ForkJoinPool(threads);
+        try {
+            final var tasks = fileList.stream().map(file -> pool.submit(() -> fileParser.apply(file))).toList();
+            final var result = new ArrayList<T>(tasks.size());
+            for (final var task : tasks) {
+                result.add(task.join());
+            }
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int getLoaderThreads(Config config, int fileCount) {
+        final var threads = config.loaderThreads > 0 ? config.loaderThreads : Runtime.getRuntime().availableProcessors();
+        return Math.min(threads, fileCount);
+    }
+
     public static List<SourceScheduleRecord> loadConnectionSchedules(Path directoryPath, Config config) {
         final var fileList = FileUtils.getFilteredFilesFromDirectory(config, directoryPath, SchedulesLoader::connectionScheduleFileFilter);
         final var result = new ArrayList<SourceScheduleRecord>();
 
-        for (final var file : fileList) {
-            result.addAll(parseConnectionScheduleFile(file, config));
+        for (final var fileRecords : parseFiles(fileList, config, file -> parseConnectionScheduleFile(file, config))) {
+            result.addAll(fileRecords);
         }
         return result;
     }
@@ -121,8 +245,8 @@ public class SchedulesLoader {
         final var fileList = FileUtils.getFilteredFilesFromDirectory(config, directoryPath, SchedulesLoader::flybyScheduleFileFilter);
         final var result = new ArrayList<FlybyScheduleRecord>();
 
-        for (final var file : fileList) {
-            result.addAll(parseFlybyScheduleFile(file, config));
+        for (final var fileRecords : parseFiles(fileList, config, file -> parseFlybyScheduleFile(file, config))) {
+            result.addAll(fileRecords);
         }
         return result;
     }
@@ -236,13 +360,15 @@ public class SchedulesLoader {
         return file.getName().startsWith(config.flybyScheduleFileNameStart);
     }
 
-    public static SatelliteParams[] getSatellitesParams(String[] satelliteNames) {
+    public static SatelliteParams[] getSatellitesParams(String[] satelliteNames, Config config) {
+        if (!config.satelliteParamsPath.isBlank()) return SatelliteParamsLoader.load(Path.of(config.satelliteParamsPath), satelliteNames, config);
+
         final var result = new SatelliteParams[satelliteNames.length];
         for (int i = 0; i < result.length; i++) {
             if (i < 50) {
-                result[i] = new SatelliteParams(2500000, 4, 100);
+                result[i] = new SatelliteParams(2500000 / config.timeTick, 4, 100);
             } else {
-                result[i] = new SatelliteParams(1250000, 16, 25);
+                result[i] = new SatelliteParams(1250000 / config.timeTick, 16, 25);
             }
         }
 
@@ -0,0 +1,92 @@
+package org.satlink.loaders;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@UtilityClass
+public class StkDateTimeDecoder {
+    public static final String PATTERN = "d MMM uuuu HH:mm:ss.SSS";
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int FIRST_CACHED_YEAR = 1900;
+    private static final int LAST_CACHED_YEAR = 2199;
+    private static final int[] MONTH_KEYS = new int[12];
+    private static final long[] MONTH_START_EPOCH_DAYS = new long[(LAST_CACHED_YEAR - FIRST_CACHED_YEAR + 1) * 12];
+    private static final byte[] MONTH_LENGTHS = new byte[MONTH_START_EPOCH_DAYS.length];
+
+    static {
+        final var monthNames = "JanFebMarAprMayJunJulAugSepOctNovDec".getBytes(StandardCharsets.US_ASCII);
+        for (var month = 0; month < 12; month++) {
+            MONTH_KEYS[month] = monthKey(monthNames[month * 3], monthNames[month * 3 + 1], monthNames[month * 3 + 2]);
+        }
+        for (var year = FIRST_CACHED_YEAR; year <= LAST_CACHED_YEAR; year++) {
+            for (var month = 1; month <= 12; month++) {
+                final var index = (year - FIRST_CACHED_YEAR) * 12 + month - 1;
+                MONTH_START_EPOCH_DAYS[index] = LocalDate.of(year, month, 1).toEpochDay();
+                MONTH_LENGTHS[index] = (byte) YearMonth.of(year, month).lengthOfMonth();
+            }
+        }
+    }
+
+    public static long decode(ByteBuffer buffer, int from, int to) {
+        if (to - from < 23 || to - from > 24) return INVALID;
+        var position = from;
+
+        final var dayEnd = to - from == 23 ? position + 1 : position + 2;
+        if (buffer.get(dayEnd) != ' ') return INVALID;
+        final var day = digits(buffer, position, dayEnd);
+        position = dayEnd + 1;
+
+        final var month = month(buffer.get(position), buffer.get(position + 1), buffer.get(position + 2));
+        if (month < 0 || buffer.get(position + 3) != ' ') return INVALID;
+        position += 4;
+
+        final var year = digits(buffer, position, position + 4);
+        if (buffer.get(position + 4) != ' ') return INVALID;
+        position += 5;
+
+        final var hour = digits(buffer, position, position + 2);
+        final var minute = digits(buffer, position + 3, position + 5);
+        final var second = digits(buffer, position + 6, position + 8);
+        final var millis = digits(buffer, position + 9, position + 12);
+        if (buffer.get(position + 2) != ':' || buffer.get(position + 5) != ':' || buffer.get(position + 8) != '.') return INVALID;
+        if (day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) return INVALID;
+
+        final var epochDay = epochDay(year, month, day);
+        if (epochDay == INVALID) return INVALID;
+        return epochDay * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000 + millis;
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        if (year < FIRST_CACHED_YEAR || year > LAST_CACHED_YEAR) return INVALID;
+        final var index = (year - FIRST_CACHED_YEAR) * 12 + month;
+        return MONTH_START_EPOCH_DAYS[index] + Math.min(day, MONTH_LENGTHS[index]) - 1;
+    }
+
+    private static int month(byte first, byte second, byte third) {
+        final var key = monthKey(first, second, third);
+        for (var month = 0; month < MONTH_KEYS.length; month++) {
+            if (MONTH_KEYS[month] == key) return month;
+        }
+        return -1;
+    }
+
+    private static int monthKey(byte first, byte second, byte third) {
+        return (first & 0xff) << 16 | (second & 0xff) << 8 | third & 0xff;
+    }
+
+    private static int digits(ByteBuffer buffer, int from, int to) {
+        var result = 0;
+        for (var i = from; i < to; i++) {
+            final var digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
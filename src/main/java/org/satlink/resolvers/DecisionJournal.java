@@ -0,0 +1,30 @@
+package org.satlink.resolvers;
+
+import java.util.Arrays;
+
+class DecisionJournal {
+    private static final int INITIAL_CAPACITY = 64;
+
+    int[] quantumStartTimes = new int[INITIAL_CAPACITY];
+    int[] stationIds = new int[INITIAL_CAPACITY];
+    int[] satelliteIds = new int[INITIAL_CAPACITY];
+    int[] startTimes = new int[INITIAL_CAPACITY];
+    int[] stopTimes = new int[INITIAL_CAPACITY];
+    int size;
+
+    void add(int quantumStartTime, int stationId, int satelliteId, int startTime, int stopTime) {
+        if (size == stationIds.length) {
+            quantumStartTimes = Arrays.copyOf(quantumStartTimes, Math.max(size * 2, INITIAL_CAPACITY));
+            stationIds = Arrays.copyOf(stationIds, Math.max(size * 2, INITIAL_CAPACITY));
+            satelliteIds = Arrays.copyOf(satelliteIds, Math.max(size * 2, INITIAL_CAPACITY));
+            startTimes = Arrays.copyOf(startTimes, Math.max(size * 2, INITIAL_CAPACITY));
+            stopTimes = Arrays.copyOf(stopTimes, Math.max(size * 2, INITIAL_CAPACITY));
+        }
+        quantumStartTimes[size] = quantumStartTime;
+        stationIds[size] = stationId;
+        satelliteIds[size] = satelliteId;
+        startTimes[size] = startTime;
+        stopTimes[size] = stopTime;
+        size++;
+    }
+}
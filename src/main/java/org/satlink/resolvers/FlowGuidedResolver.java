@@ -0,0 +1,301 @@
+package org.satlink.resolvers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.utils.Metrics;
+
+import java.util.Arrays;
+
+@Slf4j
+public class FlowGuidedResolver extends GreedyResolver {
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double budgetShare;
+    private Quanta quanta;
+    private Planner planner;
+    private int[] plannedTimes;
+    private long windowLength;
+    private long budgetEnd;
+    private int windowEnd;
+
+    public FlowGuidedResolver() {
+        this(1);
+    }
+
+    /* Under PartitionedResolver every partition gets its share of flowTimeBudget. */
+    public FlowGuidedResolver(double budgetShare) {
+        this.budgetShare = budgetShare;
+    }
+
+    /*
+     * A heuristic, not an exact optimum. Quanta are planned window by window: each plan covers the window and
+     * the next one as a lookahead and is made when the first quantum of the window is queued, so the network
+     * size does not depend on the length of the schedule. The plan is a maximum volume flow through a
+     * time-expanded network with timeStep buckets, which relaxes the order of transmits within a bucket, so it
+     * is not followed literally: the greedy sweep makes the decisions and prefers the quantum the plan gives the
+     * most transmit time. A FIFO pass over the same input is made afterwards to report the gain over it.
+     */
+    @Override
+    public ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        connectionSchedule.sortByTime();
+        flybySchedule.sortBySatellite();
+
+        quanta = new Quanta(connectionSchedule, config.getTimeStepTicks());
+        planner = new Planner(connectionSchedule, flybySchedule, satelliteParams, config);
+        plannedTimes = new int[quanta.size];
+        windowLength = config.flowWindowHours * MILLIS_PER_HOUR / config.timeTick;
+        budgetEnd = config.flowTimeBudget > 0 ? System.nanoTime() + (long) (config.flowTimeBudget * NANOS_PER_SECOND * budgetShare) : Long.MAX_VALUE;
+        windowEnd = 0;
+
+        final var result = super.resolve(connectionSchedule, flybySchedule, satelliteParams, config);
+        final ResolverResult fifoResult;
+        try (final var ignored = Metrics.start("resolve.fifo")) {
+            fifoResult = new FifoResolver(false).resolve(connectionSchedule, flybySchedule, satelliteParams, config);
+        }
+        planner.publishMetrics(getAmount(result, satelliteParams), getAmount(fifoResult, satelliteParams));
+        return result;
+    }
+
+    @Override
+    void onQuantum(int quantumNumber, SweepState state) {
+        if (quantumNumber != windowEnd) return;
+        final var first = quantumNumber;
+        final var windowStart = quanta.startTimes[first];
+        windowEnd = quanta.findFirstStartingAt(first, windowStart + windowLength);
+        final var planEnd = quanta.findFirstStartingAt(windowEnd, windowStart + 2 * windowLength);
+        final var windowsLeft = (quanta.startTimes[quanta.size - 1] - (long) windowStart) / windowLength + 1;
+        final var deadline = budgetEnd == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + (budgetEnd - System.nanoTime()) / windowsLeft;
+        try (final var ignored = Metrics.start("resolve.plan")) {
+            planner.plan(quanta, first, windowEnd, planEnd, plannedTimes, state, deadline);
+        }
+    }
+
+    @Override
+    int getPriority(int quantumNumber) {
+        return plannedTimes[quantumNumber];
+    }
+
+    private static long getAmount(ResolverResult result, SatelliteParams[] satelliteParams) {
+        var amount = 0L;
+        for (final var transactions : result.getStationTransactions()) {
+            for (final var transaction : transactions) {
+                amount += (long) (transaction[2] - transaction[1]) * satelliteParams[transaction[0]].getBandwidth();
+            }
+        }
+        return amount;
+    }
+
+    private static class Quanta {
+        private final int[] stationIds;
+        private final int[] satelliteIds;
+        private final int[] startTimes;
+        private final int[] stopTimes;
+        private final int size;
+
+        Quanta(Schedule connectionSchedule, int timeStep) {
+            final var queue = new QuantumQueue(connectionSchedule, timeStep);
+            final var stationIdList = new QuantumQueue.IntList();
+            final var satelliteIdList = new QuantumQueue.IntList();
+            final var startTimeList = new QuantumQueue.IntList();
+            final var stopTimeList = new QuantumQueue.IntList();
+            while (queue.next()) {
+                stationIdList.add(queue.getStationId());
+                satelliteIdList.add(queue.getSatelliteId());
+                startTimeList.add(queue.getStartTime());
+                stopTimeList.add(queue.getStopTime());
+            }
+            this.stationIds = stationIdList.toArray();
+            this.satelliteIds = satelliteIdList.toArray();
+            this.startTimes = startTimeList.toArray();
+            this.stopTimes = stopTimeList.toArray();
+            this.size = startTimes.length;
+        }
+
+        int findFirstStartingAt(int from, long time) {
+            var low = from;
+            var high = size;
+            while (low < high) {
+                final var middle = (low + high) >>> 1;
+                if (startTimes[middle] < time) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+
+    private static class Planner {
+        private final Schedule flybySchedule;
+        private final SatelliteParams[] satelliteParams;
+        private final int[] antennaCounts;
+        private final int bucketLength;
+        private final int timeTick;
+        private long plannedAmount;
+        private long windowCount;
+        private long truncatedWindowCount;
+        private long searchCount;
+        private long augmentationCount;
+        private long maxNodeCount;
+
+        Planner(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+            this.flybySchedule = flybySchedule;
+            this.satelliteParams = satelliteParams;
+            this.antennaCounts = SweepState.getAntennaCounts(connectionSchedule, config);
+            this.bucketLength = config.getTimeStepTicks();
+            this.timeTick = config.timeTick;
+        }
+
+        /*
+         * A satellite has a buffer node in every bucket where it shoots or has a quantum, fed by the source
+         * with its shooting time (and the first one with the memory left at the window start) and linked to
+         * its next buffer node with the memory limit; all amounts are in transmit time, i.e. memory times
+         * transmitRatio. A quantum is split into its parts in each bucket, which lead from the satellite node
+         * of the bucket (one transmit at a time) to the station node (one transmit per antenna) at the cost of
+         * minus the satellite bandwidth. Buckets without events are skipped, which keeps augmenting paths
+         * short, and nodes are created bucket by bucket with the sink last, so node order is topological.
+         */
+        void plan(Quanta quanta, int first, int windowEnd, int planEnd, int[] plannedTimes, SweepState state, long deadline) {
+            final var windowStart = quanta.startTimes[first];
+            var planStop = windowStart;
+            for (var i = first; i < planEnd; i++) {
+                planStop = Math.max(planStop, quanta.stopTimes[i]);
+            }
+            final var bucketCount = (int) (((long) planStop - windowStart) / bucketLength + 1);
+            final var satelliteCount = satelliteParams.length;
+            final var stationCount = antennaCounts.length;
+
+            final var satelliteSlots = new int[satelliteCount];
+            Arrays.fill(satelliteSlots, -1);
+            var activeCount = 0;
+            for (var i = first; i < planEnd; i++) {
+                if (satelliteSlots[quanta.satelliteIds[i]] < 0) satelliteSlots[quanta.satelliteIds[i]] = activeCount++;
+            }
+
+            final var shootingTimes = getShootingTimes(satelliteSlots, activeCount, windowStart, planStop, bucketCount);
+            final var satelliteNodes = new int[bucketCount * activeCount];
+            final var stationNodes = new int[bucketCount * stationCount];
+            for (var i = first; i < planEnd; i++) {
+                final var slot = satelliteSlots[quanta.satelliteIds[i]];
+                final var startOffset = quanta.startTimes[i] - windowStart;
+                final var stopOffset = quanta.stopTimes[i] - windowStart;
+                for (var bucket = startOffset / bucketLength; bucket * bucketLength < stopOffset; bucket++) {
+                    satelliteNodes[bucket * activeCount + slot] = 1;
+                    stationNodes[bucket * stationCount + quanta.stationIds[i]] = 1;
+                }
+            }
+
+            final var network = new FlowNetwork();
+            final var source = network.addNode();
+            final var bufferNodes = new int[bucketCount * activeCount];
+            for (var bucket = 0; bucket < bucketCount; bucket++) {
+                for (var slot = 0; slot < activeCount; slot++) {
+                    final var index = bucket * activeCount + slot;
+                    bufferNodes[index] = satelliteNodes[index] > 0 || shootingTimes[index] > 0 ? network.addNode() : -1;
+                }
+                for (var slot = 0; slot < activeCount; slot++) {
+                    final var index = bucket * activeCount + slot;
+                    satelliteNodes[index] = satelliteNodes[index] > 0 ? network.addNode() : -1;
+                }
+                for (var stationId = 0; stationId < stationCount; stationId++) {
+                    final var index = bucket * stationCount + stationId;
+                    stationNodes[index] = stationNodes[index] > 0 ? network.addNode() : -1;
+                }
+            }
+            final var sink = network.addNode();
+
+            for (var satelliteId = 0; satelliteId < satelliteCount; satelliteId++) {
+                final var slot = satelliteSlots[satelliteId];
+                if (slot < 0) continue;
+                final long transmitRatio = satelliteParams[satelliteId].getTransmitRatio();
+                var memory = (long) state.getMemoryUsage(satelliteId, windowStart, windowStart);
+                var previousNode = -1;
+                for (var bucket = 0; bucket < bucketCount; bucket++) {
+                    final var index = bucket * activeCount + slot;
+                    final var node = bufferNodes[index];
+                    if (node < 0) continue;
+                    if (previousNode >= 0) {
+                        network.addEdge(previousNode, node, satelliteParams[satelliteId].getMaxTimeAmount() * transmitRatio, 0);
+                    }
+                    if (memory + shootingTimes[index] > 0) network.addEdge(source, node, (memory + shootingTimes[index]) * transmitRatio, 0);
+                    if (satelliteNodes[index] >= 0) network.addEdge(node, satelliteNodes[index], bucketLength, 0);
+                    memory = 0;
+                    previousNode = node;
+                }
+            }
+            for (var i = 0; i < stationNodes.length; i++) {
+                if (stationNodes[i] >= 0) network.addEdge(stationNodes[i], sink, (long) bucketLength * antennaCounts[i % stationCount], 0);
+            }
+
+            final var partQuanta = new QuantumQueue.IntList();
+            final var partEdges = new QuantumQueue.IntList();
+            for (var i = first; i < planEnd; i++) {
+                final var slot = satelliteSlots[quanta.satelliteIds[i]];
+                final var cost = -satelliteParams[quanta.satelliteIds[i]].getBandwidth();
+                final var startOffset = quanta.startTimes[i] - windowStart;
+                final var stopOffset = quanta.stopTimes[i] - windowStart;
+                for (var bucket = startOffset / bucketLength; bucket * bucketLength < stopOffset; bucket++) {
+                    final var part = Math.min(stopOffset, (bucket + 1) * bucketLength) - Math.max(startOffset, bucket * bucketLength);
+                    partQuanta.add(i);
+                    partEdges.add(network.addEdge(satelliteNodes[bucket * activeCount + slot], stationNodes[bucket * stationCount + quanta.stationIds[i]], part, cost));
+                }
+            }
+
+            if (!network.minimizeCost(source, sink, deadline)) truncatedWindowCount++;
+
+            Arrays.fill(plannedTimes, first, planEnd, 0);
+            final var quantumIndexes = partQuanta.toArray();
+            final var edges = partEdges.toArray();
+            for (var i = 0; i < edges.length; i++) {
+                final var flow = (int) network.getFlow(edges[i]);
+                plannedTimes[quantumIndexes[i]] += flow;
+                if (quantumIndexes[i] < windowEnd) plannedAmount += (long) flow * satelliteParams[quanta.satelliteIds[quantumIndexes[i]]].getBandwidth();
+            }
+
+            windowCount++;
+            searchCount += network.searchCount;
+            augmentationCount += network.augmentationCount;
+            maxNodeCount = Math.max(maxNodeCount, network.size());
+        }
+
+        private long[] getShootingTimes(int[] satelliteSlots, int activeCount, int windowStart, int planStop, int bucketCount) {
+            final var result = new long[bucketCount * activeCount];
+            final var satelliteIds = flybySchedule.getSatelliteIds();
+            final var startTimes = flybySchedule.getStartTimes();
+            final var stopTimes = flybySchedule.getStopTimes();
+            for (var i = 0; i < flybySchedule.size(); i++) {
+                final var slot = satelliteIds[i] < satelliteSlots.length ? satelliteSlots[satelliteIds[i]] : -1;
+                if (slot < 0 || stopTimes[i] <= windowStart || startTimes[i] >= planStop) continue;
+                final var startOffset = Math.max(startTimes[i], windowStart) - windowStart;
+                final var stopOffset = Math.min(stopTimes[i], planStop) - windowStart;
+                for (var bucket = startOffset / bucketLength; bucket * bucketLength < stopOffset; bucket++) {
+                    result[bucket * activeCount + slot] += Math.min(stopOffset, (bucket + 1) * bucketLength) - Math.max(startOffset, bucket * bucketLength);
+                }
+            }
+            return result;
+        }
+
+        void publishMetrics(long realizedAmount, long fifoAmount) {
+            final var plannedMegabytes = plannedAmount * timeTick / 1000.0;
+            final var realizedMegabytes = realizedAmount * timeTick / 1000.0;
+            final var fifoMegabytes = fifoAmount * timeTick / 1000.0;
+            log.info(String.format("Flow plan: %.3f MB, realized: %.3f MB (%.2f%% of plan), FIFO: %.3f MB, gain: %+.3f MB (%+.2f%%), %d windows.",
+                    plannedMegabytes, realizedMegabytes, plannedAmount > 0 ? 100.0 * realizedAmount / plannedAmount : 100.0,
+                    fifoMegabytes, realizedMegabytes - fifoMegabytes, fifoAmount > 0 ? 100.0 * (realizedAmount - fifoAmount) / fifoAmount : 0.0, windowCount));
+            if (truncatedWindowCount > 0) {
+                log.warn(truncatedWindowCount + " of " + windowCount + " flow plans were stopped by " + Config.FLOW_TIME_BUDGET
+                        + ", their windows are prioritized by incomplete plans.");
+            }
+            Metrics.add("flow_windows", windowCount);
+            Metrics.add("flow_windows_truncated", truncatedWindowCount);
+            Metrics.add("flow_searches", searchCount);
+            Metrics.add("flow_augmentations", augmentationCount);
+            Metrics.add("flow_network_nodes_max", maxNodeCount);
+            Metrics.add("flow_planned_mb", Math.round(plannedMegabytes));
+            Metrics.add("flow_realized_mb", Math.round(realizedMegabytes));
+            Metrics.add("flow_fifo_mb", Math.round(fifoMegabytes));
+            Metrics.add("flow_gain_mb", Math.round(realizedMegabytes - fifoMegabytes));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.satlink.resolvers;
+
+import java.util.Arrays;
+
+class FlowNetwork {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private int nodeCount;
+    private int[] heads = new int[INITIAL_CAPACITY];
+    private int edgeCount;
+    private int[] targets = new int[INITIAL_CAPACITY];
+    private int[] nextEdges = new int[INITIAL_CAPACITY];
+    private long[] residuals = new long[INITIAL_CAPACITY];
+    private long[] costs = new long[INITIAL_CAPACITY];
+    private long[] capacities = new long[INITIAL_CAPACITY];
+
+    private long[] potentials;
+    private long[] distances;
+    private int[] currentEdges;
+    private int[] pathEdges;
+    private int[] levels;
+    private int[] queue;
+    long flowCost;
+    long augmentationCount;
+    long searchCount;
+
+    int addNode() {
+        if (nodeCount == heads.length) heads = Arrays.copyOf(heads, nodeCount * 2);
+        heads[nodeCount] = -1;
+        return nodeCount++;
+    }
+
+    /*
+     * Edges are stored in pairs, so the reverse of edge e is e ^ 1 and its residual capacity is the flow of e.
+     */
+    int addEdge(int from, int to, long capacity, long cost) {
+        if (edgeCount + 2 > targets.length) {
+            final var size = targets.length * 2;
+            targets = Arrays.copyOf(targets, size);
+            nextEdges = Arrays.copyOf(nextEdges, size);
+            residuals = Arrays.copyOf(residuals, size);
+            costs = Arrays.copyOf(costs, size);
+            capacities = Arrays.copyOf(capacities, size);
+        }
+        final var edge = edgeCount;
+        link(edge, from, to, capacity, cost);
+        link(edge + 1, to, from, 0, -cost);
+        edgeCount += 2;
+        return edge;
+    }
+
+    long getFlow(int edge) {
+        return capacities[edge] - residuals[edge];
+    }
+
+    int size() {
+        return nodeCount;
+    }
+
+    /*
+     * Successive shortest paths with Dijkstra on reduced costs. Nodes are expected to be added in topological
+     * order of the (acyclic) network, so the initial potentials are the shortest distances in node order.
+     * After each search all shortest paths are saturated by blocking flows before the next one. Augmenting
+     * stops when the cheapest path has a non-negative cost, which gives a minimum cost flow of any value, or
+     * at the deadline, which leaves a feasible flow whose cost is not yet minimal; false in the latter case.
+     */
+    boolean minimizeCost(int source, int sink, long deadline) {
+        potentials = new long[nodeCount];
+        distances = new long[nodeCount];
+        currentEdges = new int[nodeCount];
+        pathEdges = new int[nodeCount];
+        levels = new int[nodeCount];
+        queue = new int[nodeCount];
+        initPotentials(source);
+
+        final var heap = new NodeHeap(nodeCount);
+        while (true) {
+            if (System.nanoTime() > deadline) return false;
+            searchCount++;
+            findDistances(source, heap);
+            if (distances[sink] >= INFINITY) return true;
+            final var sinkDistance = distances[sink];
+            for (var node = 0; node < nodeCount; node++) {
+                potentials[node] += Math.min(distances[node], sinkDistance);
+            }
+            if (potentials[sink] - potentials[source] >= 0) return true;
+
+            while (findLevels(source, sink)) {
+                System.arraycopy(heads, 0, currentEdges, 0, nodeCount);
+                augment(source, sink, potentials[sink] - potentials[source]);
+            }
+        }
+    }
+
+    private void initPotentials(int source) {
+        Arrays.fill(potentials, INFINITY);
+        potentials[source] = 0;
+        for (var node = 0; node < nodeCount; node++) {
+            if (potentials[node] >= INFINITY) continue;
+            for (var edge = heads[node]; edge >= 0; edge = nextEdges[edge]) {
+                if (residuals[edge] > 0 && potentials[node] + costs[edge] < potentials[targets[edge]]) {
+                    potentials[targets[edge]] = potentials[node] + costs[edge];
+                }
+            }
+        }
+        for (var node = 0; node < nodeCount; node++) {
+            if (potentials[node] >= INFINITY) potentials[node] = 0;
+        }
+    }
+
+    private void findDistances(int source, NodeHeap heap) {
+        Arrays.fill(distances, 0, nodeCount, INFINITY);
+        distances[source] = 0;
+        heap.push(source, 0);
+        while (!heap.isEmpty()) {
+            final var distance = heap.topDistance();
+            final var node = heap.pop();
+            if (distance > distances[node]) continue;
+            for (var edge = heads[node]; edge >= 0; edge = nextEdges[edge]) {
+                if (residuals[edge] == 0) continue;
+                final var target = targets[edge];
+                final var candidate = distance + costs[edge] + potentials[node] - potentials[target];
+                if (candidate < distances[target]) {
+                    distances[target] = candidate;
+                    heap.push(target, candidate);
+                }
+            }
+        }
+    }
+
+    /*
+     * Breadth-first levels over admissible edges, i.e. edges with residual capacity and zero reduced cost.
+     * Paths that go one level up at each step never use the reverse of an edge they pushed through.
+     */
+    private boolean findLevels(int source, int sink) {
+        Arrays.fill(levels, 0, nodeCount, -1);
+        levels[source] = 0;
+        queue[0] = source;
+        var head = 0;
+        var tail = 1;
+        while (head < tail) {
+            final var node = queue[head++];
+            for (var edge = heads[node]; edge >= 0; edge = nextEdges[edge]) {
+                final var target = targets[edge];
+                if (levels[target] < 0 && isAdmissible(edge, node)) {
+                    levels[target] = levels[node] + 1;
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return levels[sink] >= 0;
+    }
+
+    /*
+     * Blocking flow on the level graph. After each push the search resumes from the tail of the first
+     * saturated edge; the explicit stack keeps long buffer chains off the thread stack, and current edges
+     * skip edges that lead to dead ends.
+     */
+    private void augment(int source, int sink, long pathCost) {
+        var depth = 0;
+        var node = source;
+        while (true) {
+            if (node == sink) {
+                var pushed = Long.MAX_VALUE;
+                var bottleneck = 0;
+                for (var i = 0; i < depth; i++) {
+                    if (residuals[pathEdges[i]] < pushed) {
+                        pushed = residuals[pathEdges[i]];
+                        bottleneck = i;
+                    }
+                }
+                for (var i = 0; i < depth; i++) {
+                    residuals[pathEdges[i]] -= pushed;
+                    residuals[pathEdges[i] ^ 1] += pushed;
+                }
+                flowCost += pushed * pathCost;
+                augmentationCount++;
+                depth = bottleneck;
+                node = targets[pathEdges[bottleneck] ^ 1];
+                continue;
+            }
+            var edge = currentEdges[node];
+            while (edge >= 0 && (levels[targets[edge]] != levels[node] + 1 || !isAdmissible(edge, node))) {
+                edge = nextEdges[edge];
+            }
+            currentEdges[node] = edge;
+            if (edge >= 0) {
+                pathEdges[depth++] = edge;
+                node = targets[edge];
+            } else {
+                if (depth == 0) return;
+                node = targets[pathEdges[--depth] ^ 1];
+                currentEdges[node] = nextEdges[currentEdges[node]];
+            }
+        }
+    }
+
+    private boolean isAdmissible(int edge, int from) {
+        return residuals[edge] > 0 && costs[edge] + potentials[from] - potentials[targets[edge]] == 0;
+    }
+
+    private void link(int edge, int from, int to, long capacity, long cost) {
+        targets[edge] = to;
+        residuals[edge] = capacity;
+        capacities[edge] = capacity;
+        costs[edge] = cost;
+        nextEdges[edge] = heads[from];
+        heads[from] = edge;
+    }
+
+    private static class NodeHeap {
+        private int[] nodes;
+        private long[] keys;
+        private int size;
+
+        NodeHeap(int capacity) {
+            this.nodes = new int[Math.max(capacity, 1)];
+            this.keys = new long[Math.max(capacity, 1)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long topDistance() {
+            return keys[0];
+        }
+
+        void push(int node, long key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            var index = size++;
+            while (index > 0) {
+                final var parent = (index - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                nodes[index] = nodes[parent];
+                keys[index] = keys[parent];
+                index = parent;
+            }
+            nodes[index] = node;
+            keys[index] = key;
+        }
+
+        int pop() {
+            final var result = nodes[0];
+            final var node = nodes[--size];
+            final var key = keys[size];
+            var index = 0;
+            while (true) {
+                var child = 2 * index + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                nodes[index] = nodes[child];
+                keys[index] = keys[child];
+                index = child;
+            }
+            nodes[index] = node;
+            keys[index] = key;
+            return result;
+        }
+    }
+}
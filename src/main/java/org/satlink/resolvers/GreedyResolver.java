@@ -0,0 +1,178 @@
+package org.satlink.resolvers;
+
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.data.SkipTypes;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class GreedyResolver implements Resolver {
+    private static final int NO_DECISION = Integer.MAX_VALUE;
+    private static final Comparator<int[]> SKIP_ORDER = Comparator.<int[]>comparingInt(entry -> entry[6]).thenComparingInt(entry -> entry[1]);
+
+    /*
+     * Stations are visited in global time order. At each decision point the station takes the free visible
+     * satellite holding the most buffered data (in MB); satellites busy with another station
+     * are retried when they become free. Quanta are evaluated with the same busy and memory rules as FIFO.
+     */
+    @Override
+    public ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        connectionSchedule.sortByTime();
+        flybySchedule.sortBySatellite();
+
+        final var connections = new QuantumQueue(connectionSchedule, config.getTimeStepTicks());
+        final var state = new SweepState(connectionSchedule, flybySchedule, satelliteParams, config);
+        final var stationCount = connectionSchedule.getStationNames().length;
+        final var pendingQuanta = new PendingQuanta[stationCount];
+        for (var i = 0; i < stationCount; i++) {
+            pendingQuanta[i] = new PendingQuanta();
+        }
+        final var decisionTimes = new int[stationCount];
+        Arrays.fill(decisionTimes, NO_DECISION);
+        final var stationReadyTimes = new int[stationCount];
+
+        var quantumCount = 0L;
+        var hasQuantum = connections.next();
+        while (true) {
+            var stationId = -1;
+            for (var i = 0; i < stationCount; i++) {
+                if (decisionTimes[i] != NO_DECISION && (stationId < 0 || decisionTimes[i] < decisionTimes[stationId])) stationId = i;
+            }
+
+            if (hasQuantum && (stationId < 0 || connections.getStartTime() <= decisionTimes[stationId])) {
+                final var quantumStation = connections.getStationId();
+                final var startTime = connections.getStartTime();
+                onQuantum((int) quantumCount, state);
+                pendingQuanta[quantumStation].add(connections.getSatelliteId(), startTime, connections.getStopTime(), connections.getWindowIndex(), (int) quantumCount);
+                decisionTimes[quantumStation] = Math.min(decisionTimes[quantumStation], Math.max(stationReadyTimes[quantumStation], startTime));
+                hasQuantum = connections.next();
+                quantumCount++;
+                continue;
+            }
+            if (stationId < 0) break;
+
+            final var currentTime = decisionTimes[stationId];
+            final var pending = pendingQuanta[stationId];
+            final var selected = select(stationId, currentTime, pending, state, satelliteParams);
+            if (selected < 0) {
+                decisionTimes[stationId] = pending.retryTime;
+                continue;
+            }
+
+            final var satelliteId = pending.satelliteIds[selected];
+            final var usedMemory = state.getMemoryUsage(satelliteId, currentTime, currentTime) * satelliteParams[satelliteId].getTransmitRatio();
+            final var stopTime = currentTime + Math.min(pending.stopTimes[selected] - currentTime, usedMemory);
+            pending.remove(selected);
+
+            state.addTransmit(stationId, satelliteId, currentTime, stopTime);
+            stationReadyTimes[stationId] = Math.max(state.getCurrentTimeForStation(stationId, currentTime), currentTime);
+            decisionTimes[stationId] = pending.size > 0 ? stationReadyTimes[stationId] : NO_DECISION;
+        }
+
+        state.publishMetrics(quantumCount);
+        return state.toResult();
+    }
+
+    @Override
+    public Comparator<int[]> getSkipOrder() {
+        return SKIP_ORDER;
+    }
+
+    /*
+     * Called before the quantum with the given number (in QuantumQueue order) becomes pending; subclasses use
+     * it together with getPriority to rank quanta by a plan. A candidate with a higher priority is selected
+     * over any candidate with a lower one, and ties are broken by the buffered amount.
+     */
+    void onQuantum(int quantumNumber, SweepState state) {
+    }
+
+    int getPriority(int quantumNumber) {
+        return 0;
+    }
+
+    private int select(int stationId, int currentTime, PendingQuanta pending, SweepState state, SatelliteParams[] satelliteParams) {
+        var selected = -1;
+        var selectedPriority = Integer.MIN_VALUE;
+        var selectedAmount = 0L;
+        var size = 0;
+        pending.retryTime = NO_DECISION;
+
+        for (var i = 0; i < pending.size; i++) {
+            final var satelliteId = pending.satelliteIds[i];
+            final var startTime = pending.startTimes[i];
+            final var stopTime = pending.stopTimes[i];
+            final var windowIndex = pending.windowIndexes[i];
+            final var quantumNumber = pending.quantumNumbers[i];
+
+            if (stopTime <= currentTime) {
+                state.addSkip(SkipTypes.STATION_BUSY, stationId, satelliteId, startTime, stopTime, windowIndex, currentTime);
+                continue;
+            }
+            final var satelliteReadyTime = state.satelliteTimelines[satelliteId].getCurrentTime(currentTime);
+            if (stopTime <= satelliteReadyTime) {
+                state.addSkip(SkipTypes.SATELLITE_BUSY, stationId, satelliteId, startTime, stopTime, windowIndex, currentTime);
+                continue;
+            }
+            if (satelliteReadyTime > currentTime) {
+                pending.retryTime = Math.min(pending.retryTime, satelliteReadyTime);
+            } else {
+                final long memory = state.getMemoryUsage(satelliteId, currentTime, currentTime);
+                if (memory <= 0) {
+                    state.addSkip(SkipTypes.SATELLITE_MEMORY_EMPTY, stationId, satelliteId, startTime, stopTime, windowIndex, currentTime);
+                    continue;
+                }
+                final var amount = memory * satelliteParams[satelliteId].getTransmitRatio() * satelliteParams[satelliteId].getBandwidth();
+                final var priority = getPriority(quantumNumber);
+                if (amount > 0 && (priority > selectedPriority || priority == selectedPriority && amount > selectedAmount)) {
+                    selected = size;
+                    selectedPriority = priority;
+                    selectedAmount = amount;
+                }
+            }
+            pending.set(size++, satelliteId, startTime, stopTime, windowIndex, quantumNumber);
+        }
+        pending.size = size;
+        return selected;
+    }
+
+    private static class PendingQuanta {
+        private int[] satelliteIds = new int[16];
+        private int[] startTimes = new int[16];
+        private int[] stopTimes = new int[16];
+        private int[] windowIndexes = new int[16];
+        private int[] quantumNumbers = new int[16];
+        private int size;
+        private int retryTime;
+
+        void add(int satelliteId, int startTime, int stopTime, int windowIndex, int quantumNumber) {
+            if (size == satelliteIds.length) {
+                satelliteIds = Arrays.copyOf(satelliteIds, size * 2);
+                startTimes = Arrays.copyOf(startTimes, size * 2);
+                stopTimes = Arrays.copyOf(stopTimes, size * 2);
+                windowIndexes = Arrays.copyOf(windowIndexes, size * 2);
+                quantumNumbers = Arrays.copyOf(quantumNumbers, size * 2);
+            }
+            set(size++, satelliteId, startTime, stopTime, windowIndex, quantumNumber);
+        }
+
+        void set(int index, int satelliteId, int startTime, int stopTime, int windowIndex, int quantumNumber) {
+            satelliteIds[index] = satelliteId;
+            startTimes[index] = startTime;
+            stopTimes[index] = stopTime;
+            windowIndexes[index] = windowIndex;
+            quantumNumbers[index] = quantumNumber;
+        }
+
+        void remove(int index) {
+            final var count = size - index - 1;
+            System.arraycopy(satelliteIds, index + 1, satelliteIds, index, count);
+            System.arraycopy(startTimes, index + 1, startTimes, index, count);
+            System.arraycopy(stopTimes, index + 1, stopTimes, index, count);
+            System.arraycopy(windowIndexes, index + 1, windowIndexes, index, count);
+            System.arraycopy(quantumNumbers, index + 1, quantumNumbers, index, count);
+            size--;
+        }
+    }
+}
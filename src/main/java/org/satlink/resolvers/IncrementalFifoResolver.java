@@ -0,0 +1,152 @@
+package org.satlink.resolvers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.utils.Metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Slf4j
+public class IncrementalFifoResolver implements Resolver {
+    private static final int FULL_RUN = Integer.MIN_VALUE;
+
+    private ResolverState previous;
+    int replayedCount;
+
+    /*
+     * A FIFO decision for a quantum starting at t only sees windows starting before t and shootings starting
+     * before t + 2 * timeStep (the longest quantum). Decisions of quanta starting before the earliest changed
+     * input are therefore replayed from the previous run's journal, and the sweep resumes from that time.
+     * The journal stays in memory between calls on the same instance and is read from the state file otherwise;
+     * with a blank resolverStatePath it is kept in memory only.
+     */
+    @Override
+    public ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        connectionSchedule.sortByTime();
+        flybySchedule.sortBySatellite();
+
+        final var stateFile = config.resolverStatePath.isBlank() ? null : Path.of(config.resolverStatePath);
+        if (previous == null && stateFile != null) previous = ResolverStateCache.load(stateFile);
+        final var stationAntennas = SweepState.getAntennaCounts(connectionSchedule, config);
+        final var resumeTime = previous != null ? getResumeTime(previous, connectionSchedule, flybySchedule, satelliteParams, stationAntennas, config.getTimeStepTicks(), config.timeTick) : FULL_RUN;
+
+        final var state = new SweepState(connectionSchedule, flybySchedule, satelliteParams, config);
+        final var journal = new DecisionJournal();
+        if (resumeTime != FULL_RUN) {
+            replay(previous, resumeTime, state, journal);
+            log.info("Resolver state" + (stateFile != null ? " of " + stateFile : "") + " reused, " + journal.size + " of " + previous.journal.size + " transmits replayed.");
+        }
+
+        replayedCount = journal.size;
+        Metrics.add("sweep_transmits_replayed", journal.size);
+        final var connections = new QuantumQueue(connectionSchedule, config.getTimeStepTicks(), resumeTime);
+        var quantumCount = 0L;
+        while (connections.next()) {
+            quantumCount++;
+            final var stationTransactions = state.stationTransactions[connections.getStationId()];
+            final var transactionCount = stationTransactions.size();
+            FifoResolver.resolveQuantum(state, connections, satelliteParams);
+            if (stationTransactions.size() == transactionCount) continue;
+            final var transaction = stationTransactions.get(transactionCount);
+            journal.add(connections.getStartTime(), connections.getStationId(), transaction[0], transaction[1], transaction[2]);
+        }
+
+        state.publishMetrics(quantumCount);
+        final var result = state.toResult();
+        previous = new ResolverState(connectionSchedule, flybySchedule, config.getTimeStepTicks(), config.timeTick, stationAntennas, satelliteParams, journal, new ArrayList<>(state.skipStats));
+        if (stateFile != null) ResolverStateCache.save(stateFile, previous);
+        return result;
+    }
+
+    private static void replay(ResolverState previous, int resumeTime, SweepState state, DecisionJournal journal) {
+        final var decisions = previous.journal;
+        for (var i = 0; i < decisions.size && decisions.quantumStartTimes[i] < resumeTime; i++) {
+            state.addTransmit(decisions.stationIds[i], decisions.satelliteIds[i], decisions.startTimes[i], decisions.stopTimes[i]);
+            journal.add(decisions.quantumStartTimes[i], decisions.stationIds[i], decisions.satelliteIds[i], decisions.startTimes[i], decisions.stopTimes[i]);
+        }
+        for (final var entry : previous.skipStats) {
+            if (entry[3] >= resumeTime) break;
+            state.skipStats.add(entry);
+        }
+    }
+
+    private static int getResumeTime(ResolverState previous, Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, int[] stationAntennas, int timeStep, int timeTick) {
+        if (previous.timeStep != timeStep || previous.timeTick != timeTick
+                || !Arrays.equals(previous.stationAntennas, stationAntennas)
+                || !previous.connectionSchedule.getStartInstant().equals(connectionSchedule.getStartInstant())
+                || !previous.flybySchedule.getStartInstant().equals(flybySchedule.getStartInstant())
+                || !Arrays.equals(previous.connectionSchedule.getStationNames(), connectionSchedule.getStationNames())
+                || !Arrays.equals(previous.connectionSchedule.getSatelliteNames(), connectionSchedule.getSatelliteNames())
+                || !Arrays.equals(previous.flybySchedule.getSatelliteNames(), flybySchedule.getSatelliteNames())
+                || !equalParams(previous.satelliteParams, satelliteParams)) {
+            log.info("Input dictionaries or parameters changed, schedule will be fully recalculated.");
+            return FULL_RUN;
+        }
+        final var windowChange = getFirstWindowChange(previous.connectionSchedule, connectionSchedule);
+        final var shootingChange = (long) getFirstShootingChange(previous.flybySchedule, flybySchedule) - 2L * timeStep;
+        return (int) Math.max(Math.min(windowChange, shootingChange), FULL_RUN);
+    }
+
+    private static int getFirstWindowChange(Schedule previous, Schedule current) {
+        final var size = Math.min(previous.size(), current.size());
+        for (var i = 0; i < size; i++) {
+            if (previous.getStationIds()[i] != current.getStationIds()[i]
+                    || previous.getSatelliteIds()[i] != current.getSatelliteIds()[i]
+                    || previous.getStartTimes()[i] != current.getStartTimes()[i]
+                    || previous.getStopTimes()[i] != current.getStopTimes()[i]) {
+                return Math.min(previous.getStartTimes()[i], current.getStartTimes()[i]);
+            }
+        }
+        if (previous.size() > size) return previous.getStartTimes()[size];
+        if (current.size() > size) return current.getStartTimes()[size];
+        return Integer.MAX_VALUE;
+    }
+
+    /* Both schedules are sorted by satellite, so each satellite's shootings are compared as a separate run. */
+    private static int getFirstShootingChange(Schedule previous, Schedule current) {
+        var result = Integer.MAX_VALUE;
+        var previousIndex = 0;
+        var currentIndex = 0;
+        while (previousIndex < previous.size() || currentIndex < current.size()) {
+            final var satelliteId = Math.min(
+                    previousIndex < previous.size() ? previous.getSatelliteIds()[previousIndex] : Integer.MAX_VALUE,
+                    currentIndex < current.size() ? current.getSatelliteIds()[currentIndex] : Integer.MAX_VALUE);
+            final var previousEnd = getRunEnd(previous, previousIndex, satelliteId);
+            final var currentEnd = getRunEnd(current, currentIndex, satelliteId);
+            while (previousIndex < previousEnd && currentIndex < currentEnd) {
+                final var previousStart = previous.getStartTimes()[previousIndex];
+                final var currentStart = current.getStartTimes()[currentIndex];
+                if (previousStart != currentStart || previous.getStopTimes()[previousIndex] != current.getStopTimes()[currentIndex]) {
+                    result = Math.min(result, Math.min(previousStart, currentStart));
+                    break;
+                }
+                previousIndex++;
+                currentIndex++;
+            }
+            if (previousIndex < previousEnd) result = Math.min(result, previous.getStartTimes()[previousIndex]);
+            if (currentIndex < currentEnd) result = Math.min(result, current.getStartTimes()[currentIndex]);
+            previousIndex = previousEnd;
+            currentIndex = currentEnd;
+        }
+        return result;
+    }
+
+    private static int getRunEnd(Schedule schedule, int index, int satelliteId) {
+        while (index < schedule.size() && schedule.getSatelliteIds()[index] == satelliteId) index++;
+        return index;
+    }
+
+    private static boolean equalParams(SatelliteParams[] previous, SatelliteParams[] current) {
+        if (previous.length != current.length) return false;
+        for (var i = 0; i < previous.length; i++) {
+            if (previous[i].getMaxTimeAmount() != current[i].getMaxTimeAmount()
+                    || previous[i].getTransmitRatio() != current[i].getTransmitRatio()
+                    || previous[i].getBandwidth() != current[i].getBandwidth()) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,748 @@
+package org.satlink.resolvers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.data.SkipTypes;
+import org.satlink.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class LocalSearchResolver implements Resolver {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int TASKS_PER_THREAD = 4;
+    private static final Comparator<Transmit> START_ORDER = Comparator.comparingInt(transmit -> transmit.startTime);
+
+    private final double threadShare;
+    private SatelliteParams[] satelliteParams;
+    private WindowIndex windows;
+    private int windowSatelliteCount;
+    private int[][] stationSatellites;
+    private int[][] satelliteStations;
+    private int[] antennaOffsets;
+    private int[] shootingOffsets;
+    private int[] shootingStartTimes;
+    private int[] shootingStopTimes;
+    private List<Transmit>[] antennaTransmits;
+    private List<Transmit>[] satelliteTransmits;
+    long[] satelliteAmounts;
+    private int[][] replayStates;
+    private long[][] prefixAmounts;
+    private final LongAdder replayCount = new LongAdder();
+    private long roundCount;
+    long reassignCount;
+    long swapCount;
+
+    public LocalSearchResolver() {
+        this(1);
+    }
+
+    /* Under PartitionedResolver every partition searches with its share of localSearchThreads. */
+    public LocalSearchResolver(double threadShare) {
+        this.threadShare = threadShare;
+    }
+
+    /*
+     * The FIFO schedule is improved in rounds: every transmit looks for its best reassign to another station
+     * that sees its satellite (the freed time is offered to another satellite of the old station) and its best
+     * swap with a transmit that overlaps it on such a station. Moves are searched in parallel against the
+     * schedule of the round and applied one by one in the order of their gain, each re-checked against the
+     * moves applied before it, so the received amount grows with every accepted move. The search stops when a
+     * round finds nothing or at localSearchTimeBudget, which is checked before every round and every applied
+     * move, so the moves a round finds do not depend on the thread count or timing.
+     */
+    @Override
+    public ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        final var initial = new FifoResolver().resolve(connectionSchedule, flybySchedule, satelliteParams, config);
+        init(connectionSchedule, flybySchedule, satelliteParams, config, initial);
+        final var initialAmount = getTotalAmount();
+
+        final var deadline = config.localSearchTimeBudget > 0 ? System.nanoTime() + config.localSearchTimeBudget * NANOS_PER_SECOND : Long.MAX_VALUE;
+        final var allThreads = config.localSearchThreads > 0 ? config.localSearchThreads : Runtime.getRuntime().availableProcessors();
+        final var threads = Math.max(1, (int) Math.round(allThreads * threadShare));
+        final var pool = new ForkJoinPool(threads);
+        try (final var ignored = Metrics.start("resolve.search")) {
+            var acceptedCount = 1;
+            while (acceptedCount > 0 && System.nanoTime() < deadline) {
+                acceptedCount = runRound(pool, threads, deadline);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        publishMetrics(initialAmount, config.timeTick);
+        return toResult(connectionSchedule, config, findSkips(connectionSchedule, config));
+    }
+
+    @SuppressWarnings("unchecked")
+    void init(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config, ResolverResult initial) {
+        this.satelliteParams = satelliteParams;
+        this.windows = WindowIndex.forConnections(connectionSchedule);
+        this.windowSatelliteCount = connectionSchedule.getSatelliteNames().length;
+        replayCount.reset();
+        roundCount = 0;
+        reassignCount = 0;
+        swapCount = 0;
+        initVisibility(connectionSchedule);
+        initShootings(flybySchedule);
+
+        final var antennaCounts = SweepState.getAntennaCounts(connectionSchedule, config);
+        antennaOffsets = new int[antennaCounts.length + 1];
+        for (var i = 0; i < antennaCounts.length; i++) {
+            antennaOffsets[i + 1] = antennaOffsets[i] + antennaCounts[i];
+        }
+        antennaTransmits = new List[antennaOffsets[antennaCounts.length]];
+        for (var i = 0; i < antennaTransmits.length; i++) {
+            antennaTransmits[i] = new ArrayList<>();
+        }
+        satelliteTransmits = new List[flybySchedule.getSatelliteNames().length];
+        for (var i = 0; i < satelliteTransmits.length; i++) {
+            satelliteTransmits[i] = new ArrayList<>();
+        }
+
+        final var stationTransactions = initial.getStationTransactions();
+        for (var stationId = 0; stationId < stationTransactions.length; stationId++) {
+            for (final var transaction : stationTransactions[stationId]) {
+                final var transmit = new Transmit(transaction[0], stationId, transaction.length > 3 ? transaction[3] : 0, transaction[1], transaction[2]);
+                antennaTransmits[antennaOffsets[stationId] + transmit.antenna].add(transmit);
+                satelliteTransmits[transmit.satelliteId].add(transmit);
+            }
+        }
+        for (final var transmits : antennaTransmits) {
+            transmits.sort(START_ORDER);
+        }
+        satelliteAmounts = new long[satelliteTransmits.length];
+        replayStates = new int[satelliteTransmits.length][];
+        prefixAmounts = new long[satelliteTransmits.length][];
+        for (var satelliteId = 0; satelliteId < satelliteTransmits.length; satelliteId++) {
+            satelliteTransmits[satelliteId].sort(START_ORDER);
+            updateReplayStates(satelliteId);
+        }
+    }
+
+    private void initVisibility(Schedule connectionSchedule) {
+        final var stationCount = connectionSchedule.getStationNames().length;
+        final var visible = new boolean[stationCount * windowSatelliteCount];
+        for (var i = 0; i < connectionSchedule.size(); i++) {
+            visible[getKey(connectionSchedule.getStationIds()[i], connectionSchedule.getSatelliteIds()[i])] = true;
+        }
+        final var stations = new ArrayList<List<Integer>>();
+        for (var satelliteId = 0; satelliteId < windowSatelliteCount; satelliteId++) {
+            stations.add(new ArrayList<>());
+        }
+        stationSatellites = new int[stationCount][];
+        for (var stationId = 0; stationId < stationCount; stationId++) {
+            final var satellites = new ArrayList<Integer>();
+            for (var satelliteId = 0; satelliteId < windowSatelliteCount; satelliteId++) {
+                if (!visible[getKey(stationId, satelliteId)]) continue;
+                satellites.add(satelliteId);
+                stations.get(satelliteId).add(stationId);
+            }
+            stationSatellites[stationId] = satellites.stream().mapToInt(Integer::intValue).toArray();
+        }
+        satelliteStations = new int[windowSatelliteCount][];
+        for (var satelliteId = 0; satelliteId < windowSatelliteCount; satelliteId++) {
+            satelliteStations[satelliteId] = stations.get(satelliteId).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /*
+     * The flyby schedule is sorted by satellite, so the shooting periods of each satellite form one run.
+     */
+    private void initShootings(Schedule flybySchedule) {
+        final var satelliteIds = flybySchedule.getSatelliteIds();
+        shootingOffsets = new int[flybySchedule.getSatelliteNames().length + 1];
+        for (var i = 0; i < flybySchedule.size(); i++) {
+            shootingOffsets[satelliteIds[i] + 1]++;
+        }
+        for (var satelliteId = 0; satelliteId + 1 < shootingOffsets.length; satelliteId++) {
+            shootingOffsets[satelliteId + 1] += shootingOffsets[satelliteId];
+        }
+        shootingStartTimes = flybySchedule.getStartTimes();
+        shootingStopTimes = flybySchedule.getStopTimes();
+    }
+
+    private int runRound(ForkJoinPool pool, int threads, long deadline) {
+        roundCount++;
+        final var transmits = new ArrayList<Transmit>();
+        for (final var satelliteList : satelliteTransmits) {
+            transmits.addAll(satelliteList);
+        }
+        final var taskCount = Math.min(threads * TASKS_PER_THREAD, transmits.size());
+        final var tasks = new ArrayList<ForkJoinTask<List<Move>>>(taskCount);
+        for (var task = 0; task < taskCount; task++) {
+            final var part = transmits.subList(task * transmits.size() / taskCount, (task + 1) * transmits.size() / taskCount);
+            tasks.add(pool.submit(() -> findMoves(part)));
+        }
+        final var moves = new ArrayList<Move>();
+        for (final var task : tasks) {
+            moves.addAll(task.join());
+        }
+
+        moves.sort(Comparator.comparingLong((Move move) -> move.gain).reversed());
+        var acceptedCount = 0;
+        for (final var move : moves) {
+            if (System.nanoTime() > deadline) break;
+            if (move.isStale() || evaluate(move) <= 0) continue;
+            apply(move);
+            acceptedCount++;
+            if (move.swap) swapCount++;
+            else reassignCount++;
+        }
+        return acceptedCount;
+    }
+
+    private List<Move> findMoves(List<Transmit> transmits) {
+        final var result = new ArrayList<Move>();
+        for (final var transmit : transmits) {
+            final var move = findBestMove(transmit);
+            if (move != null) result.add(move);
+        }
+        return result;
+    }
+
+    /*
+     * A transmit can go to any other station that sees its satellite, at any free time between the satellite's
+     * neighbouring transmits; the antenna time it frees goes to another satellite of its station. A swap also
+     * frees a transmit of the target antenna that overlaps it in time and moves that one to the old antenna.
+     */
+    private Move findBestMove(Transmit transmit) {
+        final var satelliteId = transmit.satelliteId;
+        final var excluded = List.of(transmit);
+        Placement fill = null;
+        var fillSearched = false;
+        Move best = null;
+        for (final var stationId : satelliteStations[satelliteId]) {
+            if (stationId == transmit.stationId) continue;
+            for (var antenna = 0; antenna < antennaOffsets[stationId + 1] - antennaOffsets[stationId]; antenna++) {
+                final var moved = findBestPlacement(satelliteId, stationId, antenna, excluded);
+                if (moved != null) {
+                    if (!fillSearched) {
+                        fill = findFill(transmit);
+                        fillSearched = true;
+                    }
+                    best = getBetter(best, new Move(excluded, fill == null ? List.of(moved.transmit) : List.of(moved.transmit, fill.transmit), false));
+                }
+                final var transmits = antennaTransmits[antennaOffsets[stationId] + antenna];
+                for (var i = Math.max(findFirstStartingAfter(transmits, transmit.startTime) - 1, 0); i < transmits.size(); i++) {
+                    final var partner = transmits.get(i);
+                    if (partner.startTime > transmit.stopTime) break;
+                    if (partner.stopTime >= transmit.startTime && partner.satelliteId != satelliteId) best = getBetter(best, findSwap(transmit, partner));
+                }
+            }
+        }
+        return best;
+    }
+
+    private Move findSwap(Transmit transmit, Transmit partner) {
+        final var excluded = List.of(transmit, partner);
+        final var moved = findBestPlacement(transmit.satelliteId, partner.stationId, partner.antenna, excluded);
+        if (moved == null) return null;
+        final var partnerMoved = findBestPlacement(partner.satelliteId, transmit.stationId, transmit.antenna, excluded);
+        if (partnerMoved == null) return null;
+        return new Move(excluded, List.of(moved.transmit, partnerMoved.transmit), true);
+    }
+
+    /*
+     * The antenna time freed by a reassigned transmit, together with the idle time around it, goes to the
+     * satellite of the station that gains the most from it.
+     */
+    private Placement findFill(Transmit transmit) {
+        final var excluded = List.of(transmit);
+        final var transmits = antennaTransmits[antennaOffsets[transmit.stationId] + transmit.antenna];
+        final var fromTime = getStopAfter(findPrevious(transmits, transmit.startTime, excluded));
+        final var toTime = getStartBefore(findNext(transmits, transmit.startTime, excluded));
+        Placement best = null;
+        for (final var satelliteId : stationSatellites[transmit.stationId]) {
+            if (satelliteId == transmit.satelliteId) continue;
+            final var placement = findBestPlacement(satelliteId, transmit.stationId, transmit.antenna, fromTime, toTime, excluded);
+            if (placement != null && placement.gain > 0 && (best == null || placement.gain > best.gain)) best = placement;
+        }
+        return best;
+    }
+
+    private Placement findBestPlacement(int satelliteId, int stationId, int antenna, List<Transmit> excluded) {
+        final var transmits = satelliteTransmits[satelliteId];
+        var time = Integer.MIN_VALUE;
+        for (final var transmit : excluded) {
+            if (transmit.satelliteId == satelliteId) time = transmit.startTime;
+        }
+        return findBestPlacement(satelliteId, stationId, antenna, getStopAfter(findPrevious(transmits, time, excluded)), getStartBefore(findNext(transmits, time, excluded)), excluded);
+    }
+
+    /*
+     * Every free interval of the antenna in [fromTime, toTime] that lies within one window of the satellite and
+     * between its other transmits is replayed; the one that leaves the satellite with the largest amount wins.
+     */
+    private Placement findBestPlacement(int satelliteId, int stationId, int antenna, int fromTime, int toTime, List<Transmit> excluded) {
+        final var key = getKey(stationId, satelliteId);
+        final var satelliteList = satelliteTransmits[satelliteId];
+        final var antennaList = antennaTransmits[antennaOffsets[stationId] + antenna];
+        Placement best = null;
+        var time = fromTime;
+        while (time <= toTime) {
+            final var maxStopTime = windows.getMaxStopTime(key, time);
+            if (maxStopTime < time) {
+                time = windows.getNextStartTime(key, time);
+                continue;
+            }
+            final var satellitePrevious = findPrevious(satelliteList, time, excluded);
+            if (satellitePrevious != null && satellitePrevious.stopTime >= time) {
+                time = satellitePrevious.stopTime + 1;
+                continue;
+            }
+            final var antennaPrevious = findPrevious(antennaList, time, excluded);
+            if (antennaPrevious != null && antennaPrevious.stopTime >= time) {
+                time = antennaPrevious.stopTime + 1;
+                continue;
+            }
+            final var stopTime = Math.min(Math.min(toTime, maxStopTime),
+                    Math.min(getStartBefore(findNext(satelliteList, time, excluded)), getStartBefore(findNext(antennaList, time, excluded))));
+            if (stopTime > time) {
+                final var candidate = new Transmit(satelliteId, stationId, antenna, time, stopTime);
+                final var gain = getAmount(satelliteId, excluded, List.of(candidate)) - satelliteAmounts[satelliteId];
+                if (best == null || gain > best.gain) best = new Placement(candidate, gain);
+            }
+            time = stopTime + 1;
+        }
+        return best;
+    }
+
+    private Move getBetter(Move best, Move candidate) {
+        if (candidate == null) return best;
+        candidate.gain = evaluate(candidate);
+        if (candidate.gain <= 0) return best;
+        return best == null || candidate.gain > best.gain ? candidate : best;
+    }
+
+    /*
+     * The gain of a move in bandwidth-weighted ticks, or Long.MIN_VALUE if an added transmit leaves its window
+     * or overlaps a remaining transmit of its antenna or satellite. Only the satellites of the move are replayed.
+     */
+    private long evaluate(Move move) {
+        for (var i = 0; i < move.added.size(); i++) {
+            final var transmit = move.added.get(i);
+            if (transmit.stopTime <= transmit.startTime) return Long.MIN_VALUE;
+            if (!windows.covers(getKey(transmit.stationId, transmit.satelliteId), transmit.startTime, transmit.stopTime)) return Long.MIN_VALUE;
+            if (overlaps(antennaTransmits[antennaOffsets[transmit.stationId] + transmit.antenna], transmit, move.removed)) return Long.MIN_VALUE;
+            if (overlaps(satelliteTransmits[transmit.satelliteId], transmit, move.removed)) return Long.MIN_VALUE;
+            for (var j = 0; j < i; j++) {
+                final var other = move.added.get(j);
+                final var shared = other.satelliteId == transmit.satelliteId || other.stationId == transmit.stationId && other.antenna == transmit.antenna;
+                if (shared && other.startTime <= transmit.stopTime && transmit.startTime <= other.stopTime) return Long.MIN_VALUE;
+            }
+        }
+        var gain = 0L;
+        for (final var satelliteId : move.getSatelliteIds()) {
+            gain += getAmount(satelliteId, move.removed, move.added) - satelliteAmounts[satelliteId];
+        }
+        return gain;
+    }
+
+    /*
+     * Removed transmits leave their antennas first, so the replayed transmits of the move's satellites never
+     * meet a stale entry with the same start time on an antenna.
+     */
+    private void apply(Move move) {
+        for (final var transmit : move.removed) {
+            transmit.removed = true;
+            removeFromAntenna(transmit);
+        }
+        for (final var satelliteId : move.getSatelliteIds()) {
+            final var requests = getRequests(satelliteId, move.removed, move.added);
+            final var replay = createReplay(satelliteId, null, 0);
+            final var stopTimes = new int[requests.size()];
+            for (var i = 0; i < requests.size(); i++) {
+                stopTimes[i] = replay.transmit(requests.get(i).startTime, requests.get(i).stopTime);
+            }
+            final var result = new ArrayList<Transmit>(requests.size());
+            for (var i = 0; i < requests.size(); i++) {
+                final var request = requests.get(i);
+                final var added = move.added.contains(request);
+                if (!added && stopTimes[i] == request.stopTime) {
+                    result.add(request);
+                    continue;
+                }
+                if (!added) {
+                    request.removed = true;
+                    removeFromAntenna(request);
+                }
+                if (stopTimes[i] <= request.startTime) continue;
+                final var transmit = stopTimes[i] == request.stopTime ? request : new Transmit(satelliteId, request.stationId, request.antenna, request.startTime, stopTimes[i]);
+                final var transmits = antennaTransmits[antennaOffsets[transmit.stationId] + transmit.antenna];
+                transmits.add(findFirstStartingAfter(transmits, transmit.startTime), transmit);
+                result.add(transmit);
+            }
+            satelliteTransmits[satelliteId] = result;
+            updateReplayStates(satelliteId);
+        }
+    }
+
+    private List<Transmit> getRequests(int satelliteId, List<Transmit> removed, List<Transmit> added) {
+        final var result = new ArrayList<Transmit>(satelliteTransmits[satelliteId].size() + added.size());
+        for (final var transmit : satelliteTransmits[satelliteId]) {
+            if (!removed.contains(transmit)) result.add(transmit);
+        }
+        for (final var transmit : added) {
+            if (transmit.satelliteId == satelliteId) result.add(transmit);
+        }
+        result.sort(START_ORDER);
+        return result;
+    }
+
+    /*
+     * The amount of the satellite with the move applied. Transmits before the first one the move touches keep
+     * their amounts, so the replay resumes from the memory state cached in front of that transmit.
+     */
+    private long getAmount(int satelliteId, List<Transmit> removed, List<Transmit> added) {
+        replayCount.increment();
+        final var transmits = satelliteTransmits[satelliteId];
+        final var addedTransmits = new ArrayList<Transmit>(added.size());
+        var first = transmits.size();
+        for (final var transmit : removed) {
+            if (transmit.satelliteId == satelliteId) first = Math.min(first, findFirstStartingAfter(transmits, transmit.startTime) - 1);
+        }
+        for (final var transmit : added) {
+            if (transmit.satelliteId != satelliteId) continue;
+            addedTransmits.add(transmit);
+            first = Math.min(first, findFirstStartingAfter(transmits, transmit.startTime));
+        }
+        addedTransmits.sort(START_ORDER);
+
+        final var bandwidth = satelliteParams[satelliteId].getBandwidth();
+        final var replay = createReplay(satelliteId, replayStates[satelliteId], first);
+        var result = prefixAmounts[satelliteId][first];
+        var next = 0;
+        for (var i = first; i <= transmits.size(); i++) {
+            final var transmit = i < transmits.size() ? transmits.get(i) : null;
+            while (next < addedTransmits.size() && (transmit == null || addedTransmits.get(next).startTime < transmit.startTime)) {
+                final var request = addedTransmits.get(next++);
+                result += (long) (replay.transmit(request.startTime, request.stopTime) - request.startTime) * bandwidth;
+            }
+            if (transmit != null && !removed.contains(transmit)) {
+                result += (long) (replay.transmit(transmit.startTime, transmit.stopTime) - transmit.startTime) * bandwidth;
+            }
+        }
+        return result;
+    }
+
+    private void updateReplayStates(int satelliteId) {
+        final var transmits = satelliteTransmits[satelliteId];
+        final var bandwidth = satelliteParams[satelliteId].getBandwidth();
+        final var states = new int[(transmits.size() + 1) * MemoryReplay.STATE_SIZE];
+        final var amounts = new long[transmits.size() + 1];
+        final var replay = createReplay(satelliteId, null, 0);
+        for (var i = 0; i < transmits.size(); i++) {
+            replay.saveState(states, i);
+            final var transmit = transmits.get(i);
+            amounts[i + 1] = amounts[i] + (long) (replay.transmit(transmit.startTime, transmit.stopTime) - transmit.startTime) * bandwidth;
+        }
+        replay.saveState(states, transmits.size());
+        replayStates[satelliteId] = states;
+        prefixAmounts[satelliteId] = amounts;
+        satelliteAmounts[satelliteId] = amounts[transmits.size()];
+    }
+
+    private MemoryReplay createReplay(int satelliteId, int[] states, int index) {
+        final var params = satelliteParams[satelliteId];
+        final var replay = new MemoryReplay(shootingStartTimes, shootingStopTimes, shootingOffsets[satelliteId], shootingOffsets[satelliteId + 1], params.getTransmitRatio(), params.getMaxTimeAmount());
+        if (states != null) replay.loadState(states, index);
+        return replay;
+    }
+
+    /*
+     * The timeline of the satellite for the result, built the way the sweep builds it.
+     */
+    private SatelliteTimeline buildTimeline(int satelliteId) {
+        final var timeline = new SatelliteTimeline();
+        for (var i = shootingOffsets[satelliteId]; i < shootingOffsets[satelliteId + 1]; i++) {
+            timeline.addShooting(shootingStartTimes[i], shootingStopTimes[i]);
+        }
+        for (final var transmit : satelliteTransmits[satelliteId]) {
+            timeline.addTransmit(transmit.stationId, transmit.startTime, transmit.stopTime);
+        }
+        return timeline;
+    }
+
+    private long getTotalAmount() {
+        var result = 0L;
+        for (final var amount : satelliteAmounts) {
+            result += amount;
+        }
+        return result;
+    }
+
+    /*
+     * Skips of the final schedule, found the way the FIFO sweep finds them: quanta are visited in queue order,
+     * a quantum overlapped by a transmit of its station and satellite takes that transmit into the ready
+     * times, and any other quantum is skipped because the station or the satellite is busy to its end, or
+     * because the satellite memory is empty once both are free. Otherwise the search gave the satellite's data
+     * to another window and the skip has no constraint behind it (NONE).
+     */
+    private List<int[]> findSkips(Schedule connectionSchedule, Config config) {
+        final var result = new ArrayList<int[]>();
+        final var antennaReadyTimes = new int[antennaTransmits.length];
+        Arrays.fill(antennaReadyTimes, Integer.MIN_VALUE);
+        final var satelliteReadyTimes = new int[satelliteTransmits.length];
+        Arrays.fill(satelliteReadyTimes, Integer.MIN_VALUE);
+        final var quanta = new QuantumQueue(connectionSchedule, config.getTimeStepTicks());
+        while (quanta.next()) {
+            final var stationId = quanta.getStationId();
+            final var satelliteId = quanta.getSatelliteId();
+            final var startTime = quanta.getStartTime();
+            final var stopTime = quanta.getStopTime();
+            final var transmit = findTransmit(satelliteTransmits[satelliteId], stationId, startTime, stopTime);
+            if (transmit != null) {
+                final var antenna = antennaOffsets[stationId] + transmit.antenna;
+                antennaReadyTimes[antenna] = Math.max(antennaReadyTimes[antenna], transmit.stopTime + 1);
+                satelliteReadyTimes[satelliteId] = Math.max(satelliteReadyTimes[satelliteId], transmit.stopTime + 1);
+                continue;
+            }
+
+            var stationReadyTime = Integer.MAX_VALUE;
+            for (var i = antennaOffsets[stationId]; i < antennaOffsets[stationId + 1]; i++) {
+                stationReadyTime = Math.min(stationReadyTime, antennaReadyTimes[i]);
+            }
+            stationReadyTime = Math.max(stationReadyTime, startTime);
+            final var satelliteReadyTime = Math.max(satelliteReadyTimes[satelliteId], startTime);
+            if (stopTime <= stationReadyTime) result.add(createSkip(SkipTypes.STATION_BUSY, quanta));
+            if (stopTime <= satelliteReadyTime) result.add(createSkip(SkipTypes.SATELLITE_BUSY, quanta));
+            if (stopTime <= stationReadyTime || stopTime <= satelliteReadyTime) continue;
+
+            final var currentTime = Math.max(stationReadyTime, satelliteReadyTime);
+            final var replay = createReplay(satelliteId, replayStates[satelliteId], findFirstStartingAfter(satelliteTransmits[satelliteId], currentTime - 1));
+            result.add(createSkip(replay.transmit(currentTime, stopTime) > currentTime ? SkipTypes.NONE : SkipTypes.SATELLITE_MEMORY_EMPTY, quanta));
+        }
+        return result;
+    }
+
+    private static Transmit findTransmit(List<Transmit> satelliteList, int stationId, int startTime, int stopTime) {
+        for (var i = Math.max(findFirstStartingAfter(satelliteList, startTime) - 1, 0); i < satelliteList.size(); i++) {
+            final var transmit = satelliteList.get(i);
+            if (transmit.startTime >= stopTime) break;
+            if (transmit.stationId == stationId && transmit.stopTime > startTime) return transmit;
+        }
+        return null;
+    }
+
+    private static int[] createSkip(SkipTypes skipType, QuantumQueue quanta) {
+        return new int[]{skipType.ordinal(), quanta.getStationId(), quanta.getSatelliteId(), quanta.getStartTime(), quanta.getStopTime(), quanta.getWindowIndex(), quanta.getStartTime()};
+    }
+
+    private void removeFromAntenna(Transmit transmit) {
+        final var transmits = antennaTransmits[antennaOffsets[transmit.stationId] + transmit.antenna];
+        transmits.remove(findFirstStartingAfter(transmits, transmit.startTime) - 1);
+    }
+
+    private int getKey(int stationId, int satelliteId) {
+        return stationId * windowSatelliteCount + satelliteId;
+    }
+
+    private static boolean overlaps(List<Transmit> transmits, Transmit transmit, List<Transmit> excluded) {
+        final var previous = findPrevious(transmits, transmit.stopTime, excluded);
+        return previous != null && previous.stopTime >= transmit.startTime;
+    }
+
+    private static int getStopAfter(Transmit previous) {
+        return previous == null ? Integer.MIN_VALUE + 1 : previous.stopTime + 1;
+    }
+
+    private static int getStartBefore(Transmit next) {
+        return next == null ? Integer.MAX_VALUE - 1 : next.startTime - 1;
+    }
+
+    private static Transmit findPrevious(List<Transmit> transmits, int time, List<Transmit> excluded) {
+        for (var i = findFirstStartingAfter(transmits, time) - 1; i >= 0; i--) {
+            if (!excluded.contains(transmits.get(i))) return transmits.get(i);
+        }
+        return null;
+    }
+
+    private static Transmit findNext(List<Transmit> transmits, int time, List<Transmit> excluded) {
+        for (var i = findFirstStartingAfter(transmits, time); i < transmits.size(); i++) {
+            if (!excluded.contains(transmits.get(i))) return transmits.get(i);
+        }
+        return null;
+    }
+
+    private static int findFirstStartingAfter(List<Transmit> transmits, int time) {
+        var low = 0;
+        var high = transmits.size();
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (transmits.get(middle).startTime <= time) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResolverResult toResult(Schedule connectionSchedule, Config config, List<int[]> skipStats) {
+        final var antennaCounts = SweepState.getAntennaCounts(connectionSchedule, config);
+        final var stationTransactions = new List[antennaCounts.length];
+        for (var stationId = 0; stationId < antennaCounts.length; stationId++) {
+            final var transmits = new ArrayList<Transmit>();
+            for (var i = antennaOffsets[stationId]; i < antennaOffsets[stationId + 1]; i++) {
+                transmits.addAll(antennaTransmits[i]);
+            }
+            transmits.sort(START_ORDER);
+            final var transactions = new ArrayList<int[]>(transmits.size());
+            for (final var transmit : transmits) {
+                transactions.add(antennaCounts[stationId] > 1
+                        ? new int[]{transmit.satelliteId, transmit.startTime, transmit.stopTime, transmit.antenna}
+                        : new int[]{transmit.satelliteId, transmit.startTime, transmit.stopTime});
+            }
+            stationTransactions[stationId] = transactions;
+        }
+        final var satelliteTransactions = new List[satelliteTransmits.length];
+        for (var satelliteId = 0; satelliteId < satelliteTransmits.length; satelliteId++) {
+            satelliteTransactions[satelliteId] = buildTimeline(satelliteId).toList();
+        }
+        return new ResolverResult(stationTransactions, satelliteTransactions, skipStats);
+    }
+
+    private void publishMetrics(long initialAmount, int timeTick) {
+        final var gainMegabytes = (getTotalAmount() - initialAmount) * timeTick / 1000.0;
+        log.info(String.format("Local search: %.3f MB over FIFO (+%.2f%%), %d reassign(s) and %d swap(s) accepted in %d round(s).",
+                gainMegabytes, initialAmount > 0 ? 100.0 * (getTotalAmount() - initialAmount) / initialAmount : 0.0, reassignCount, swapCount, roundCount));
+        Metrics.add("localsearch_rounds", roundCount);
+        Metrics.add("localsearch_replays", replayCount.sum());
+        Metrics.add("localsearch_reassigns_accepted", reassignCount);
+        Metrics.add("localsearch_swaps_accepted", swapCount);
+        Metrics.add("localsearch_gain_mb", Math.round(gainMegabytes));
+    }
+
+    private static class Transmit {
+        private final int satelliteId;
+        private final int stationId;
+        private final int antenna;
+        private final int startTime;
+        private final int stopTime;
+        private boolean removed;
+
+        Transmit(int satelliteId, int stationId, int antenna, int startTime, int stopTime) {
+            this.satelliteId = satelliteId;
+            this.stationId = stationId;
+            this.antenna = antenna;
+            this.startTime = startTime;
+            this.stopTime = stopTime;
+        }
+    }
+
+    /*
+     * The memory model of SatelliteTimeline and SatelliteMemoryModel without the timeline: transmits come in
+     * start time order, shooting periods that ended before a transmit are folded, the one in progress counts
+     * up to the transmit start for the query and up to the tick before it once the transmit is made, and the
+     * shooting time covered by the transmit is dropped. Transmits are trimmed to the memory like in the sweep.
+     */
+    private static class MemoryReplay {
+        static final int STATE_SIZE = 3;
+
+        private final int[] shootingStartTimes;
+        private final int[] shootingStopTimes;
+        private final int shootingEnd;
+        private final int transmitRatio;
+        private final int maxTimeAmount;
+        private int memory;
+        private int shooting;
+        private int shootingStartTime;
+
+        MemoryReplay(int[] shootingStartTimes, int[] shootingStopTimes, int shootingStart, int shootingEnd, int transmitRatio, int maxTimeAmount) {
+            this.shootingStartTimes = shootingStartTimes;
+            this.shootingStopTimes = shootingStopTimes;
+            this.shootingEnd = shootingEnd;
+            this.transmitRatio = transmitRatio;
+            this.maxTimeAmount = maxTimeAmount;
+            this.shooting = shootingStart;
+            this.shootingStartTime = shootingStart < shootingEnd ? shootingStartTimes[shootingStart] : 0;
+        }
+
+        void saveState(int[] states, int index) {
+            states[index * STATE_SIZE] = memory;
+            states[index * STATE_SIZE + 1] = shooting;
+            states[index * STATE_SIZE + 2] = shootingStartTime;
+        }
+
+        void loadState(int[] states, int index) {
+            memory = states[index * STATE_SIZE];
+            shooting = states[index * STATE_SIZE + 1];
+            shootingStartTime = states[index * STATE_SIZE + 2];
+        }
+
+        /*
+         * Returns the stop time of the transmit trimmed to the memory, or startTime if nothing is transmitted.
+         */
+        int transmit(int startTime, int stopTime) {
+            while (shooting < shootingEnd && shootingStopTimes[shooting] < startTime) {
+                memory = Math.min(memory + shootingStopTimes[shooting] - shootingStartTime, maxTimeAmount);
+                nextShooting();
+            }
+            final var inProgress = shooting < shootingEnd && shootingStartTime < startTime;
+            final var usedMemory = (inProgress ? Math.min(memory + startTime - shootingStartTime, maxTimeAmount) : memory) * transmitRatio;
+            final var result = (int) Math.min(stopTime, (long) startTime + Math.max(usedMemory, 0));
+            if (result <= startTime) return startTime;
+
+            if (inProgress) memory = Math.min(memory + startTime - 1 - shootingStartTime, maxTimeAmount);
+            memory -= (result - startTime) / transmitRatio;
+            while (shooting < shootingEnd && shootingStopTimes[shooting] <= result) {
+                nextShooting();
+            }
+            if (shooting < shootingEnd && shootingStartTime <= result) shootingStartTime = result + 1;
+            return result;
+        }
+
+        private void nextShooting() {
+            shooting++;
+            if (shooting < shootingEnd) shootingStartTime = shootingStartTimes[shooting];
+        }
+    }
+
+    private static class Placement {
+        private final Transmit transmit;
+        private final long gain;
+
+        Placement(Transmit transmit, long gain) {
+            this.transmit = transmit;
+            this.gain = gain;
+        }
+    }
+
+    private static class Move {
+        private final List<Transmit> removed;
+        private final List<Transmit> added;
+        private final boolean swap;
+        private long gain;
+
+        Move(List<Transmit> removed, List<Transmit> added, boolean swap) {
+            this.removed = removed;
+            this.added = added;
+            this.swap = swap;
+        }
+
+        boolean isStale() {
+            for (final var transmit : removed) {
+                if (transmit.removed) return true;
+            }
+            return false;
+        }
+
+        List<Integer> getSatelliteIds() {
+            final var result = new ArrayList<Integer>();
+            for (final var transmit : removed) {
+                if (!result.contains(transmit.satelliteId)) result.add(transmit.satelliteId);
+            }
+            for (final var transmit : added) {
+                if (!result.contains(transmit.satelliteId)) result.add(transmit.satelliteId);
+            }
+            return result;
+        }
+    }
+}
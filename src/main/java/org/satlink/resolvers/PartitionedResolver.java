@@ -0,0 +1,170 @@
+package org.satlink.resolvers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleFunction;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PartitionedResolver implements Resolver {
+    private final DoubleFunction<Resolver> resolverFactory;
+
+    /*
+     * Stations and satellites that never share a visibility window cannot influence each other, so every
+     * connected component of the station-satellite graph is solved independently. Components are packed into
+     * at most resolverThreads partitions; skip statistics are merged back into the order of the sequential run.
+     * Each partition is created with its share of the connection windows, which splits time budgets and search
+     * threads among them.
+     */
+    @Override
+    public ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        connectionSchedule.sortByTime();
+        flybySchedule.sortBySatellite();
+
+        final var stationCount = connectionSchedule.getStationNames().length;
+        final var satelliteCount = Math.max(connectionSchedule.getSatelliteNames().length, flybySchedule.getSatelliteNames().length);
+        final var components = findComponents(connectionSchedule, stationCount, satelliteCount);
+        final var partitions = assignPartitions(connectionSchedule, components, getResolverThreads(config));
+        final var partitionCount = Arrays.stream(partitions).max().orElse(0) + 1;
+        log.info("Connection graph split into " + partitionCount + " partition(s).");
+        if (partitionCount <= 1) return resolverFactory.apply(1).resolve(connectionSchedule, flybySchedule, satelliteParams, config);
+
+        final var connectionIndexes = groupIndexes(connectionSchedule.getStationIds(), partitions, 0, partitionCount);
+        final var flybyIndexes = groupIndexes(flybySchedule.getSatelliteIds(), partitions, stationCount, partitionCount);
+
+        final var pool = new ForkJoinPool(partitionCount);
+        try {
+            final var tasks = new ArrayList<ForkJoinTask<ResolverResult>>();
+            for (var partition = 0; partition < partitionCount; partition++) {
+                final var connectionPart = connectionSchedule.select(connectionIndexes[partition]);
+                final var flybyPart = flybySchedule.select(flybyIndexes[partition]);
+                final var resolver = resolverFactory.apply((double) connectionIndexes[partition].length / connectionSchedule.size());
+                tasks.add(pool.submit(() -> resolver.resolve(connectionPart, flybyPart, satelliteParams, config)));
+            }
+            final var results = new ArrayList<ResolverResult>(partitionCount);
+            for (final var task : tasks) {
+                results.add(task.join());
+            }
+            return merge(results, connectionIndexes, partitions, stationCount, getSkipOrder());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public Comparator<int[]> getSkipOrder() {
+        return resolverFactory.apply(1).getSkipOrder();
+    }
+
+    private static int getResolverThreads(Config config) {
+        return config.resolverThreads > 0 ? config.resolverThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static int[] findComponents(Schedule connectionSchedule, int stationCount, int satelliteCount) {
+        final var parents = new int[stationCount + satelliteCount];
+        for (var i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        final var stationIds = connectionSchedule.getStationIds();
+        final var satelliteIds = connectionSchedule.getSatelliteIds();
+        for (var i = 0; i < connectionSchedule.size(); i++) {
+            final var stationRoot = find(parents, stationIds[i]);
+            final var satelliteRoot = find(parents, stationCount + satelliteIds[i]);
+            if (stationRoot != satelliteRoot) parents[Math.max(stationRoot, satelliteRoot)] = Math.min(stationRoot, satelliteRoot);
+        }
+        for (var i = 0; i < parents.length; i++) {
+            parents[i] = find(parents, i);
+        }
+        return parents;
+    }
+
+    private static int find(int[] parents, int node) {
+        var root = node;
+        while (parents[root] != root) root = parents[root];
+        while (parents[node] != root) {
+            final var next = parents[node];
+            parents[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    private static int[] assignPartitions(Schedule connectionSchedule, int[] components, int threads) {
+        final var weights = new long[components.length];
+        for (final var stationId : connectionSchedule.getStationIds()) {
+            weights[components[stationId]]++;
+        }
+        final var roots = new ArrayList<Integer>();
+        for (var i = 0; i < components.length; i++) {
+            if (components[i] == i && weights[i] > 0) roots.add(i);
+        }
+        roots.sort((first, second) -> Long.compare(weights[second], weights[first]));
+
+        final var partitionCount = Math.max(1, Math.min(threads, roots.size()));
+        final var loads = new long[partitionCount];
+        final var rootPartitions = new int[components.length];
+        for (final var root : roots) {
+            var partition = 0;
+            for (var i = 1; i < partitionCount; i++) {
+                if (loads[i] < loads[partition]) partition = i;
+            }
+            loads[partition] += weights[root];
+            rootPartitions[root] = partition;
+        }
+
+        final var result = new int[components.length];
+        for (var i = 0; i < components.length; i++) {
+            result[i] = rootPartitions[components[i]];
+        }
+        return result;
+    }
+
+    private static int[][] groupIndexes(int[] nodeIds, int[] partitions, int nodeOffset, int partitionCount) {
+        final var counts = new int[partitionCount];
+        for (final var nodeId : nodeIds) {
+            counts[partitions[nodeOffset + nodeId]]++;
+        }
+        final var result = new int[partitionCount][];
+        for (var i = 0; i < partitionCount; i++) {
+            result[i] = new int[counts[i]];
+        }
+        Arrays.fill(counts, 0);
+        for (var i = 0; i < nodeIds.length; i++) {
+            final var partition = partitions[nodeOffset + nodeIds[i]];
+            result[partition][counts[partition]++] = i;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("All")
+    private static ResolverResult merge(List<ResolverResult> results, int[][] connectionIndexes, int[] partitions, int stationCount, Comparator<int[]> skipOrder) {
+        final var stationTransactions = new List[results.get(0).getStationTransactions().length];
+        for (var stationId = 0; stationId < stationTransactions.length; stationId++) {
+            stationTransactions[stationId] = results.get(partitions[stationId]).getStationTransactions()[stationId];
+        }
+        final var satelliteTransactions = new List[results.get(0).getSatelliteTransactions().length];
+        for (var satelliteId = 0; satelliteId < satelliteTransactions.length; satelliteId++) {
+            satelliteTransactions[satelliteId] = results.get(partitions[stationCount + satelliteId]).getSatelliteTransactions()[satelliteId];
+        }
+
+        final var skipStats = new ArrayList<int[]>();
+        for (var partition = 0; partition < results.size(); partition++) {
+            for (final var entry : results.get(partition).getSkipStats()) {
+                entry[5] = connectionIndexes[partition][entry[5]];
+                skipStats.add(entry);
+            }
+        }
+        skipStats.sort(skipOrder);
+        return new ResolverResult(stationTransactions, satelliteTransactions, skipStats);
+    }
+}
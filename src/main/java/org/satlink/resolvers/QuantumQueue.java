@@ -0,0 +1,179 @@
+package org.satlink.resolvers;
+
+import lombok.Getter;
+import org.satlink.data.Schedule;
+
+import java.util.Arrays;
+
+public class QuantumQueue {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NO_QUANTUM = Integer.MIN_VALUE;
+
+    private final Schedule windows;
+    private final int timeStep;
+    private final int fromTime;
+    private int nextWindow;
+
+    private int[] heapWindows = new int[INITIAL_CAPACITY];
+    private int[] heapStartTimes = new int[INITIAL_CAPACITY];
+    private int[] heapStopTimes = new int[INITIAL_CAPACITY];
+    private int heapSize;
+
+    @Getter
+    private int stationId;
+    @Getter
+    private int satelliteId;
+    @Getter
+    private int startTime;
+    @Getter
+    private int stopTime;
+    @Getter
+    private int windowIndex;
+
+    public QuantumQueue(Schedule windows, int timeStep) {
+        this(windows, timeStep, Integer.MIN_VALUE);
+    }
+
+    public QuantumQueue(Schedule windows, int timeStep, int fromTime) {
+        this.windows = windows;
+        this.timeStep = timeStep;
+        this.fromTime = fromTime;
+    }
+
+    public static Schedule quantize(Schedule windows, int timeStep) {
+        final var queue = new QuantumQueue(windows, timeStep);
+        final var stationIds = new IntList();
+        final var satelliteIds = new IntList();
+        final var startTimes = new IntList();
+        final var stopTimes = new IntList();
+        while (queue.next()) {
+            stationIds.add(queue.stationId);
+            satelliteIds.add(queue.satelliteId);
+            startTimes.add(queue.startTime);
+            stopTimes.add(queue.stopTime);
+        }
+        return new Schedule(windows.getStartInstant(), windows.getStationNames(), windows.getSatelliteNames(),
+                stationIds.toArray(), satelliteIds.toArray(), startTimes.toArray(), stopTimes.toArray());
+    }
+
+    /*
+     * Windows are sorted by start time, so every window that can yield the next quantum is already in the heap
+     * once all windows starting no later than the heap top are pushed. The (start, stop, window) key reproduces
+     * the order of a stable sort over the fully expanded quanta.
+     */
+    public boolean next() {
+        final var windowStartTimes = windows.getStartTimes();
+        while (nextWindow < windows.size() && (heapSize == 0 || windowStartTimes[nextWindow] <= heapStartTimes[0])) {
+            final var quantumStartTime = getFirstQuantumStartTime(nextWindow);
+            if (quantumStartTime != NO_QUANTUM) push(nextWindow, quantumStartTime);
+            nextWindow++;
+        }
+        if (heapSize == 0) return false;
+
+        windowIndex = heapWindows[0];
+        startTime = heapStartTimes[0];
+        stopTime = heapStopTimes[0];
+        stationId = windows.getStationIds()[windowIndex];
+        satelliteId = windows.getSatelliteIds()[windowIndex];
+
+        if (stopTime != windows.getStopTimes()[windowIndex]) {
+            heapStartTimes[0] = startTime + timeStep;
+            heapStopTimes[0] = getQuantumStopTime(windowIndex, startTime + timeStep);
+            siftDown(0);
+        } else {
+            heapSize--;
+            if (heapSize > 0) {
+                move(heapSize, 0);
+                siftDown(0);
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Quanta of a window start timeStep apart until the remainder is at most twice the step, so the first
+     * quantum at or after fromTime exists only if the quantum before it was not the last one.
+     */
+    private int getFirstQuantumStartTime(int window) {
+        final var windowStartTime = windows.getStartTimes()[window];
+        if (windowStartTime >= fromTime) return windowStartTime;
+        final var steps = ((long) fromTime - windowStartTime + timeStep - 1) / timeStep;
+        final var previousStartTime = windowStartTime + (steps - 1) * timeStep;
+        if (windows.getStopTimes()[window] - previousStartTime <= 2L * timeStep) return NO_QUANTUM;
+        return (int) (previousStartTime + timeStep);
+    }
+
+    private int getQuantumStopTime(int window, int quantumStartTime) {
+        final var windowStopTime = windows.getStopTimes()[window];
+        return windowStopTime - quantumStartTime > 2 * timeStep ? quantumStartTime + timeStep - 1 : windowStopTime;
+    }
+
+    private void push(int window, int quantumStartTime) {
+        if (heapSize == heapWindows.length) {
+            heapWindows = Arrays.copyOf(heapWindows, heapSize * 2);
+            heapStartTimes = Arrays.copyOf(heapStartTimes, heapSize * 2);
+            heapStopTimes = Arrays.copyOf(heapStopTimes, heapSize * 2);
+        }
+        heapWindows[heapSize] = window;
+        heapStartTimes[heapSize] = quantumStartTime;
+        heapStopTimes[heapSize] = getQuantumStopTime(window, quantumStartTime);
+        siftUp(heapSize++);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final var parent = (index - 1) >>> 1;
+            if (!less(index, parent)) return;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final var left = 2 * index + 1;
+            if (left >= heapSize) return;
+            final var right = left + 1;
+            final var child = right < heapSize && less(right, left) ? right : left;
+            if (!less(child, index)) return;
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private boolean less(int first, int second) {
+        if (heapStartTimes[first] != heapStartTimes[second]) return heapStartTimes[first] < heapStartTimes[second];
+        if (heapStopTimes[first] != heapStopTimes[second]) return heapStopTimes[first] < heapStopTimes[second];
+        return heapWindows[first] < heapWindows[second];
+    }
+
+    private void swap(int first, int second) {
+        final var window = heapWindows[first];
+        final var startTime = heapStartTimes[first];
+        final var stopTime = heapStopTimes[first];
+        move(second, first);
+        heapWindows[second] = window;
+        heapStartTimes[second] = startTime;
+        heapStopTimes[second] = stopTime;
+    }
+
+    private void move(int from, int to) {
+        heapWindows[to] = heapWindows[from];
+        heapStartTimes[to] = heapStartTimes[from];
+        heapStopTimes[to] = heapStopTimes[from];
+    }
+
+    static class IntList {
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.satlink.resolvers;
+
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+
+import java.util.Comparator;
+
+public interface Resolver {
+    Comparator<int[]> QUANTUM_ORDER = Comparator.<int[]>comparingInt(entry -> entry[3])
+            .thenComparingInt(entry -> entry[4])
+            .thenComparingInt(entry -> entry[5]);
+
+    ResolverResult resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config);
+
+    default Comparator<int[]> getSkipOrder() {
+        return QUANTUM_ORDER;
+    }
+}
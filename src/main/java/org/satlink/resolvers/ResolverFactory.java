@@ -0,0 +1,33 @@
+package org.satlink.resolvers;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.ResolverTypes;
+
+@Slf4j
+@UtilityClass
+public class ResolverFactory {
+    public static Resolver create(ResolverTypes resolverType, Config config) {
+        if (resolverType == ResolverTypes.FIFO && !config.resolverStatePath.isBlank()) {
+            if (config.resolverThreads != 1) log.warn("Incremental FIFO calculation runs in one thread: resolverThreads is ignored.");
+            return new IncrementalFifoResolver();
+        }
+        if (config.resolverThreads == 1) return create(resolverType);
+        return new PartitionedResolver(share -> create(resolverType, share));
+    }
+
+    public static Resolver create(ResolverTypes resolverType) {
+        return create(resolverType, 1);
+    }
+
+    /* The share is the part of the input, and so of the time budget or threads, given to one partition. */
+    public static Resolver create(ResolverTypes resolverType, double share) {
+        return switch (resolverType) {
+            case FIFO -> new FifoResolver();
+            case GREEDY -> new GreedyResolver();
+            case FLOW_GUIDED -> new FlowGuidedResolver(share);
+            case LOCAL_SEARCH -> new LocalSearchResolver(share);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package org.satlink.resolvers;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+@SuppressWarnings("ClassCanBeRecord")
+public class ResolverResult {
+    private final List<int[]>[] stationTransactions;
+    private final List<int[]>[] satelliteTransactions;
+    private final List<int[]> skipStats;
+}
@@ -0,0 +1,19 @@
+package org.satlink.resolvers;
+
+import lombok.RequiredArgsConstructor;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ResolverState {
+    final Schedule connectionSchedule;
+    final Schedule flybySchedule;
+    final int timeStep;
+    final int timeTick;
+    final int[] stationAntennas;
+    final SatelliteParams[] satelliteParams;
+    final DecisionJournal journal;
+    final List<int[]> skipStats;
+}
@@ -0,0 +1,111 @@
+package org.satlink.resolvers;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.SatelliteParams;
+import org.satlink.loaders.SchedulesCache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+@Slf4j
+@UtilityClass
+class ResolverStateCache {
+    private static final int MAGIC = 0x534c5253;
+    private static final int VERSION = 3;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int SKIP_ENTRY_SIZE = 7;
+
+    static ResolverState load(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) return null;
+
+        try (final var channel = FileChannel.open(stateFile, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            final var connectionSchedule = SchedulesCache.readSchedule(buffer);
+            final var flybySchedule = SchedulesCache.readSchedule(buffer);
+            final var timeStep = buffer.getInt();
+            final var timeTick = buffer.getInt();
+            final var stationAntennas = new int[buffer.getInt()];
+            for (var i = 0; i < stationAntennas.length; i++) {
+                stationAntennas[i] = buffer.getInt();
+            }
+            final var satelliteParams = new SatelliteParams[buffer.getInt()];
+            for (var i = 0; i < satelliteParams.length; i++) {
+                satelliteParams[i] = new SatelliteParams(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            }
+
+            final var journal = new DecisionJournal();
+            journal.size = buffer.getInt();
+            final var columns = buffer.slice().asIntBuffer();
+            journal.quantumStartTimes = SchedulesCache.readColumn(columns, journal.size);
+            journal.stationIds = SchedulesCache.readColumn(columns, journal.size);
+            journal.satelliteIds = SchedulesCache.readColumn(columns, journal.size);
+            journal.startTimes = SchedulesCache.readColumn(columns, journal.size);
+            journal.stopTimes = SchedulesCache.readColumn(columns, journal.size);
+
+            final var skipCount = columns.get();
+            final var skipStats = new ArrayList<int[]>(skipCount);
+            for (var i = 0; i < skipCount; i++) {
+                skipStats.add(SchedulesCache.readColumn(columns, SKIP_ENTRY_SIZE));
+            }
+            return new ResolverState(connectionSchedule, flybySchedule, timeStep, timeTick, stationAntennas, satelliteParams, journal, skipStats);
+        } catch (Exception e) {
+            log.warn("Failed to read resolver state " + stateFile + ", schedule will be fully recalculated.", e);
+            return null;
+        }
+    }
+
+    static void save(Path stateFile, ResolverState state) {
+        final var tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(stateFile.toAbsolutePath().getParent());
+            try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), WRITE_BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                SchedulesCache.writeSchedule(output, state.connectionSchedule);
+                SchedulesCache.writeSchedule(output, state.flybySchedule);
+                output.writeInt(state.timeStep);
+                output.writeInt(state.timeTick);
+                output.writeInt(state.stationAntennas.length);
+                writeColumn(output, state.stationAntennas, state.stationAntennas.length);
+                output.writeInt(state.satelliteParams.length);
+                for (final var params : state.satelliteParams) {
+                    output.writeInt(params.getMaxTimeAmount());
+                    output.writeInt(params.getTransmitRatio());
+                    output.writeInt(params.getBandwidth());
+                }
+
+                final var journal = state.journal;
+                output.writeInt(journal.size);
+                writeColumn(output, journal.quantumStartTimes, journal.size);
+                writeColumn(output, journal.stationIds, journal.size);
+                writeColumn(output, journal.satelliteIds, journal.size);
+                writeColumn(output, journal.startTimes, journal.size);
+                writeColumn(output, journal.stopTimes, journal.size);
+
+                output.writeInt(state.skipStats.size());
+                for (final var entry : state.skipStats) {
+                    writeColumn(output, entry, SKIP_ENTRY_SIZE);
+                }
+            }
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Failed to save resolver state " + stateFile + ".", e);
+        }
+    }
+
+    private static void writeColumn(DataOutputStream output, int[] column, int size) throws IOException {
+        for (var i = 0; i < size; i++) {
+            output.writeInt(column[i]);
+        }
+    }
+}
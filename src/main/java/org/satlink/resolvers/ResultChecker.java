@@ -0,0 +1,275 @@
+package org.satlink.resolvers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.Schedule;
+import org.satlink.data.VerificationLevels;
+import org.satlink.exceptions.ResultIntegrityException;
+import org.satlink.utils.Metrics;
+import org.satlink.utils.SortUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ResultChecker implements AutoCloseable {
+    private final Schedule connectionSchedule;
+    private final Schedule flybySchedule;
+    private final Config config;
+    private ExecutorService executor;
+    private WindowIndex sliceStationWindows;
+    private WindowIndex sliceShootingPeriods;
+
+    public void check(ResolverResult result) {
+        if (config.verificationLevel == VerificationLevels.NONE) return;
+        final var stationWindows = Metrics.measure("check.index", () -> WindowIndex.forConnections(connectionSchedule));
+        final var shootingPeriods = Metrics.measure("check.index", this::createShootingPeriodIndex);
+
+        verify(result, stationWindows, shootingPeriods, true, true);
+    }
+
+    /*
+     * A transmit is handed out with its station slice as soon as it is made, but stays in the satellite
+     * timeline until it ends before a slice boundary, so slices are checked without the station/satellite
+     * cross-match and continuity is checked within each slice.
+     */
+    public void checkSlice(ResolverResult slice) {
+        if (config.verificationLevel == VerificationLevels.NONE) return;
+        final var firstSlice = sliceStationWindows == null;
+        if (firstSlice) {
+            sliceStationWindows = Metrics.measure("check.index", () -> WindowIndex.forConnections(connectionSchedule));
+            sliceShootingPeriods = Metrics.measure("check.index", this::createShootingPeriodIndex);
+        }
+
+        verify(slice, sliceStationWindows, sliceShootingPeriods, firstSlice, false);
+    }
+
+    /*
+     * Every station and every satellite is checked by a separate task, and violations of all tasks are
+     * collected into one report in station/satellite order, so the report does not depend on thread timing.
+     */
+    private void verify(ResolverResult result, WindowIndex stationWindows, WindowIndex shootingPeriods, boolean checkDoubles, boolean crossMatch) {
+        final var stationTransactions = result.getStationTransactions();
+        final var satelliteTransactions = result.getSatelliteTransactions();
+        final var sampleStep = config.verificationLevel == VerificationLevels.SAMPLED ? Math.max(config.verificationSampleStep, 1) : 1;
+        final var antennaCounts = SweepState.getAntennaCounts(connectionSchedule, config);
+        final var sortedStationTransactions = crossMatch ? sortByStartTime(stationTransactions, antennaCounts) : null;
+
+        final var tasks = new ArrayList<Callable<List<String>>>();
+        if (checkDoubles) tasks.add(this::checkInputDoubles);
+        for (var stationId = 0; stationId < stationTransactions.length; stationId++) {
+            final var id = stationId;
+            tasks.add(() -> checkStation(id, stationTransactions[id], antennaCounts[id], stationWindows, sampleStep));
+        }
+        for (var satelliteId = 0; satelliteId < satelliteTransactions.length; satelliteId++) {
+            final var id = satelliteId;
+            tasks.add(() -> checkSatellite(id, satelliteTransactions[id], shootingPeriods, sortedStationTransactions, sampleStep));
+        }
+
+        final var violations = new ArrayList<String>();
+        try (final var ignored = Metrics.start("check")) {
+            for (final var taskViolations : runAll(tasks)) {
+                violations.addAll(taskViolations);
+            }
+        }
+        if (!violations.isEmpty()) {
+            final var exception = new ResultIntegrityException(violations);
+            log.error(exception.getMessage());
+            throw exception;
+        }
+    }
+
+    /* The pool is created by the first check and reused by later checks and slices until close(). */
+    @Override
+    public synchronized void close() {
+        if (executor != null) executor.shutdownNow();
+        executor = null;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final var threads = config.verificationThreads > 0 ? config.verificationThreads : Runtime.getRuntime().availableProcessors();
+            executor = Executors.newFixedThreadPool(threads);
+        }
+        return executor;
+    }
+
+    private List<List<String>> runAll(List<Callable<List<String>>> tasks) {
+        final var executor = getExecutor();
+        final var futures = new ArrayList<Future<List<String>>>(tasks.size());
+        try {
+            for (final var task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            final var results = new ArrayList<List<String>>(futures.size());
+            for (final var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new ResultIntegrityException("Result check failed: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultIntegrityException("Result check interrupted.");
+        } finally {
+            for (final var future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private List<String> checkInputDoubles() {
+        try (final var ignored = Metrics.start("check.inputDoubles")) {
+            return findInputDoubles();
+        }
+    }
+
+    private List<String> findInputDoubles() {
+        final var violations = new ArrayList<String>();
+        final var stationIds = connectionSchedule.getStationIds();
+        final var satelliteIds = connectionSchedule.getSatelliteIds();
+        final var startTimes = connectionSchedule.getStartTimes();
+        final var stopTimes = connectionSchedule.getStopTimes();
+        final var order = SortUtils.sortedOrder(stationIds, satelliteIds, startTimes, stopTimes);
+        for (var k = 0; k < order.length; k++) {
+            final var i = order[k];
+            /* As in the original check, the first record is compared with an all-zero row, so a {0, 0, 0, 0} record counts as a double. */
+            final var duplicate = k == 0
+                    ? stationIds[i] == 0 && satelliteIds[i] == 0 && startTimes[i] == 0 && stopTimes[i] == 0
+                    : stationIds[order[k - 1]] == stationIds[i] && satelliteIds[order[k - 1]] == satelliteIds[i]
+                    && startTimes[order[k - 1]] == startTimes[i] && stopTimes[order[k - 1]] == stopTimes[i];
+            if (duplicate) {
+                violations.add(String.format("Found doubles in input schedule. Station: %d, Satellite: %d, StartTime: %d, StopTime: %d", stationIds[i], satelliteIds[i], startTimes[i], stopTimes[i]));
+            }
+        }
+        return violations;
+    }
+
+    /*
+     * Every check kind is timed as its own phase on the worker thread; the phases are summed over the tasks.
+     * Continuity is checked per antenna: transactions of one antenna are recorded in time order, while
+     * transactions of different antennas may overlap but still come in start order.
+     */
+    private List<String> checkStation(int stationId, List<int[]> transactions, int antennaCount, WindowIndex stationWindows, int sampleStep) {
+        final var violations = new ArrayList<String>();
+        try (final var ignored = Metrics.start("check.stationContinuity")) {
+            final var lastStopTimes = new int[antennaCount];
+            var lastStartTime = Integer.MIN_VALUE;
+            for (final var transaction : transactions) {
+                final var startTime = transaction[1];
+                final var stopTime = transaction[2];
+                final var antenna = transaction.length > 3 ? transaction[3] : 0;
+                if (antenna < 0 || antenna >= antennaCount) {
+                    violations.add(String.format("Antenna check failed. Station: %d, Antenna: %d, StartTime: %d, StopTime: %d", stationId, antenna, startTime, stopTime));
+                    continue;
+                }
+                if (stopTime < startTime || lastStopTimes[antenna] >= startTime) {
+                    violations.add(String.format("Continuity check failed. Station: %d, StartTime: %d, StopTime: %d", stationId, startTime, stopTime));
+                }
+                if (startTime < lastStartTime) {
+                    violations.add(String.format("Order check failed. Station: %d, StartTime: %d, StopTime: %d", stationId, startTime, stopTime));
+                }
+                lastStopTimes[antenna] = stopTime;
+                lastStartTime = startTime;
+            }
+        }
+        try (final var ignored = Metrics.start("check.stationWindows")) {
+            final var satelliteCount = connectionSchedule.getSatelliteNames().length;
+            for (var i = 0; i < transactions.size(); i += sampleStep) {
+                final var transaction = transactions.get(i);
+                final var satelliteId = transaction[0];
+                final var startTime = transaction[1];
+                final var stopTime = transaction[2];
+                if (!stationWindows.covers(stationId * satelliteCount + satelliteId, startTime, stopTime)) {
+                    violations.add(String.format("Transaction mismatched schedule! Station: %d, Satellite: %d, StartTime: %d, StopTime: %d", stationId, satelliteId, startTime, stopTime));
+                }
+            }
+        }
+        return violations;
+    }
+
+    /*
+     * Station transactions are sorted by start time, so a satellite transaction is matched by binary search
+     * on its start time; several antennas of a station may start transmits at the same time, so all
+     * transactions with that start time are tried.
+     */
+    private List<String> checkSatellite(int satelliteId, List<int[]> transactions, WindowIndex shootingPeriods, List<int[]>[] stationTransactions, int sampleStep) {
+        final var violations = new ArrayList<String>();
+        try (final var ignored = Metrics.start("check.satelliteContinuity")) {
+            var lastStopTime = 0;
+            for (final var transaction : transactions) {
+                final var startTime = transaction[1];
+                final var stopTime = transaction[2];
+                if (stopTime < startTime || lastStopTime >= startTime) {
+                    violations.add(String.format("Continuity check failed. Satellite: %d, StartTime: %d, StopTime: %d", satelliteId, startTime, stopTime));
+                }
+                lastStopTime = stopTime;
+            }
+        }
+        try (final var ignored = Metrics.start("check.shootings")) {
+            for (var i = 0; i < transactions.size(); i += sampleStep) {
+                final var transaction = transactions.get(i);
+                if (transaction[0] < 0 && !shootingPeriods.covers(satelliteId, transaction[1], transaction[2])) {
+                    violations.add(String.format("Shooting mismatched schedule! Satellite: %d, StartTime: %d, StopTime: %d", satelliteId, transaction[1], transaction[2]));
+                }
+            }
+        }
+        if (stationTransactions == null) return violations;
+        try (final var ignored = Metrics.start("check.satelliteTransactions")) {
+            for (var i = 0; i < transactions.size(); i += sampleStep) {
+                final var transaction = transactions.get(i);
+                final var stationId = transaction[0];
+                if (stationId >= 0 && !containsTransaction(stationTransactions[stationId], satelliteId, transaction[1], transaction[2])) {
+                    violations.add(String.format("Satellite transaction mismatched station! StationId: %d, SatelliteId: %d, StartTime: %d, StopTime: %d", stationId, satelliteId, transaction[1], transaction[2]));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static boolean containsTransaction(List<int[]> transactions, int satelliteId, int startTime, int stopTime) {
+        var low = 0;
+        var high = transactions.size();
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (transactions.get(middle)[1] < startTime) low = middle + 1;
+            else high = middle;
+        }
+        for (var i = low; i < transactions.size() && transactions.get(i)[1] == startTime; i++) {
+            final var transaction = transactions.get(i);
+            if (transaction[0] == satelliteId && transaction[2] == stopTime) return true;
+        }
+        return false;
+    }
+
+    /*
+     * Transactions of a single-antenna station are already in start time order; those of other stations are
+     * recorded in the order of their quanta and are sorted into a copy.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<int[]>[] sortByStartTime(List<int[]>[] stationTransactions, int[] antennaCounts) {
+        final var result = new List[stationTransactions.length];
+        for (var i = 0; i < result.length; i++) {
+            if (antennaCounts[i] > 1) {
+                final var sorted = new ArrayList<>(stationTransactions[i]);
+                sorted.sort(Comparator.comparingInt(transaction -> transaction[1]));
+                result[i] = sorted;
+            } else {
+                result[i] = stationTransactions[i];
+            }
+        }
+        return result;
+    }
+
+    private WindowIndex createShootingPeriodIndex() {
+        return new WindowIndex(flybySchedule.getSatelliteNames().length, flybySchedule.getSatelliteIds(), flybySchedule.getStartTimes(), flybySchedule.getStopTimes());
+    }
+}
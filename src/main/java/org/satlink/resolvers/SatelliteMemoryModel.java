@@ -0,0 +1,79 @@
+package org.satlink.resolvers;
+
+import org.satlink.data.SatelliteParams;
+
+public class SatelliteMemoryModel {
+    private final int[] transmitRatios;
+    private final int[] maxTimeAmounts;
+    private final int[] checkpointIndexes;
+    private final int[] checkpointMemory;
+    long queryCount;
+    long scannedEntryCount;
+
+    public SatelliteMemoryModel(SatelliteParams[] satelliteParams) {
+        this.transmitRatios = new int[satelliteParams.length];
+        this.maxTimeAmounts = new int[satelliteParams.length];
+        for (var i = 0; i < satelliteParams.length; i++) {
+            transmitRatios[i] = satelliteParams[i].getTransmitRatio();
+            maxTimeAmounts[i] = satelliteParams[i].getMaxTimeAmount();
+        }
+        this.checkpointIndexes = new int[satelliteParams.length];
+        this.checkpointMemory = new int[satelliteParams.length];
+    }
+
+    /*
+     * Transactions that ended before sweepTime can no longer be trimmed, split or removed, and every later
+     * query (currentTime >= sweepTime) counts them in full, so they are folded into the checkpoint once.
+     */
+    public int getMemoryUsage(int satelliteId, SatelliteTimeline timeline, int currentTime, int sweepTime) {
+        final var transmitRatio = transmitRatios[satelliteId];
+        final var maxTimeAmount = maxTimeAmounts[satelliteId];
+        var index = checkpointIndexes[satelliteId];
+        var result = checkpointMemory[satelliteId];
+
+        while (index < timeline.size()) {
+            final var startTime = timeline.getStartTime(index);
+            final var stopTime = timeline.getStopTime(index);
+            if (stopTime >= sweepTime || startTime >= currentTime) break;
+            result = apply(result, timeline.getStationId(index), stopTime - startTime, transmitRatio, maxTimeAmount);
+            index++;
+        }
+        scannedEntryCount += index - checkpointIndexes[satelliteId];
+        checkpointIndexes[satelliteId] = index;
+        checkpointMemory[satelliteId] = result;
+
+        queryCount++;
+        for (var i = index; i < timeline.size(); i++) {
+            final var startTime = timeline.getStartTime(i);
+            if (startTime >= currentTime) break;
+            scannedEntryCount++;
+            final var duration = Math.min(timeline.getStopTime(i), currentTime) - startTime;
+            result = apply(result, timeline.getStationId(i), duration, transmitRatio, maxTimeAmount);
+        }
+        return result;
+    }
+
+    /*
+     * Folds every entry that ended before sweepTime and returns their count; the caller drops them from the
+     * timeline, so the next query starts from the head of the shortened timeline.
+     */
+    public int checkpoint(int satelliteId, SatelliteTimeline timeline, int sweepTime) {
+        final var transmitRatio = transmitRatios[satelliteId];
+        final var maxTimeAmount = maxTimeAmounts[satelliteId];
+        var index = checkpointIndexes[satelliteId];
+        var result = checkpointMemory[satelliteId];
+
+        while (index < timeline.size() && timeline.getStopTime(index) < sweepTime) {
+            result = apply(result, timeline.getStationId(index), timeline.getStopTime(index) - timeline.getStartTime(index), transmitRatio, maxTimeAmount);
+            index++;
+        }
+        checkpointIndexes[satelliteId] = 0;
+        checkpointMemory[satelliteId] = result;
+        return index;
+    }
+
+    private static int apply(int memory, int stationId, int duration, int transmitRatio, int maxTimeAmount) {
+        if (stationId < 0) return Math.min(memory + duration, maxTimeAmount);
+        return memory - duration / transmitRatio;
+    }
+}
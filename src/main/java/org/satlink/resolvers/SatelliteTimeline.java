@@ -0,0 +1,168 @@
+package org.satlink.resolvers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SatelliteTimeline {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] stationIds = new int[INITIAL_CAPACITY];
+    private int[] startTimes = new int[INITIAL_CAPACITY];
+    private int[] stopTimes = new int[INITIAL_CAPACITY];
+    private int gapStart;
+    private int gapEnd = INITIAL_CAPACITY;
+    private int lastTransmitStopTime = -1;
+    private boolean hasTransmits;
+
+    public int size() {
+        return stationIds.length - (gapEnd - gapStart);
+    }
+
+    public int getStationId(int index) {
+        return stationIds[physical(index)];
+    }
+
+    public int getStartTime(int index) {
+        return startTimes[physical(index)];
+    }
+
+    public int getStopTime(int index) {
+        return stopTimes[physical(index)];
+    }
+
+    public int getCurrentTime(int minTime) {
+        return hasTransmits ? lastTransmitStopTime + 1 : minTime;
+    }
+
+    public void addShooting(int startTime, int stopTime) {
+        insert(size(), -1, startTime, stopTime);
+    }
+
+    /*
+     * Entries are disjoint and ordered by start time (the continuity check enforces it on the result),
+     * so the trimmed, split and removed entries form one contiguous run starting at the first entry
+     * that ends at or after currentTime.
+     */
+    public void addTransmit(int stationId, int currentTime, int stopTime) {
+        var index = firstStoppingAtOrAfter(currentTime);
+
+        if (index < size() && getStartTime(index) < currentTime) {
+            final var position = physical(index);
+            if (stopTimes[position] > stopTime) {
+                final var splitStation = stationIds[position];
+                final var splitEnd = stopTimes[position];
+                stopTimes[position] = currentTime - 1;
+                insert(index + 1, stationId, currentTime, stopTime);
+                insert(index + 2, splitStation, stopTime + 1, splitEnd);
+                setLastTransmit(stopTime);
+                return;
+            }
+            stopTimes[position] = currentTime - 1;
+            index++;
+        }
+
+        var removeEnd = index;
+        while (removeEnd < size() && getStartTime(removeEnd) >= currentTime && getStopTime(removeEnd) <= stopTime) {
+            removeEnd++;
+        }
+        remove(index, removeEnd);
+
+        if (index < size() && getStartTime(index) <= stopTime) {
+            startTimes[physical(index)] = stopTime + 1;
+        }
+        insert(index, stationId, currentTime, stopTime);
+        setLastTransmit(stopTime);
+    }
+
+    public List<int[]> removePrefix(int count) {
+        final var result = new ArrayList<int[]>(count);
+        for (var i = 0; i < count; i++) {
+            result.add(new int[]{getStationId(i), getStartTime(i), getStopTime(i)});
+        }
+        remove(0, count);
+        return result;
+    }
+
+    public List<int[]> toList() {
+        final var result = new ArrayList<int[]>(size());
+        for (var i = 0; i < size(); i++) {
+            result.add(new int[]{getStationId(i), getStartTime(i), getStopTime(i)});
+        }
+        return result;
+    }
+
+    private void setLastTransmit(int stopTime) {
+        lastTransmitStopTime = stopTime;
+        hasTransmits = true;
+    }
+
+    private int firstStoppingAtOrAfter(int time) {
+        var low = 0;
+        var high = size();
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (getStopTime(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int physical(int index) {
+        return index < gapStart ? index : index + gapEnd - gapStart;
+    }
+
+    private void insert(int index, int stationId, int startTime, int stopTime) {
+        if (gapStart == gapEnd) grow();
+        moveGap(index);
+        stationIds[gapStart] = stationId;
+        startTimes[gapStart] = startTime;
+        stopTimes[gapStart] = stopTime;
+        gapStart++;
+    }
+
+    private void remove(int from, int to) {
+        if (from == to) return;
+        moveGap(from);
+        gapEnd += to - from;
+    }
+
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            final var count = gapStart - index;
+            shift(index, gapEnd - count, count);
+            gapStart = index;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            final var count = index - gapStart;
+            shift(gapEnd, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void shift(int from, int to, int count) {
+        System.arraycopy(stationIds, from, stationIds, to, count);
+        System.arraycopy(startTimes, from, startTimes, to, count);
+        System.arraycopy(stopTimes, from, stopTimes, to, count);
+    }
+
+    private void grow() {
+        final var capacity = stationIds.length * 2;
+        final var tailLength = stationIds.length - gapEnd;
+        final var newGapEnd = capacity - tailLength;
+        stationIds = grow(stationIds, capacity, newGapEnd);
+        startTimes = grow(startTimes, capacity, newGapEnd);
+        stopTimes = grow(stopTimes, capacity, newGapEnd);
+        gapEnd = newGapEnd;
+    }
+
+    private int[] grow(int[] values, int capacity, int newGapEnd) {
+        final var result = Arrays.copyOf(values, capacity);
+        System.arraycopy(values, gapEnd, result, newGapEnd, values.length - gapEnd);
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package org.satlink.resolvers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+
+import java.util.function.Consumer;
+
+@Slf4j
+public class SlicedFifoResolver {
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    /*
+     * Runs the FIFO sweep and hands out a slice whenever the next quantum crosses a slice boundary. Slices
+     * concatenated in order give exactly the result of FifoResolver; only the satellite buffer checkpoints and
+     * station busy-until times are carried from one slice to the next.
+     */
+    public void resolve(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config,
+                        Consumer<ResolverResult> sliceConsumer) {
+        connectionSchedule.sortByTime();
+        flybySchedule.sortBySatellite();
+
+        final var sliceLength = config.sliceHours * MILLIS_PER_HOUR / config.timeTick;
+        final var connections = new QuantumQueue(connectionSchedule, config.getTimeStepTicks());
+        final var state = new SweepState(connectionSchedule, flybySchedule, satelliteParams, config);
+
+        var nextBoundary = Long.MIN_VALUE;
+        var sliceCount = 0;
+        var quantumCount = 0L;
+        while (connections.next()) {
+            final var startTime = connections.getStartTime();
+            if (startTime >= nextBoundary) {
+                final var boundary = Math.floorDiv(startTime, sliceLength) * sliceLength;
+                if (nextBoundary != Long.MIN_VALUE) {
+                    sliceConsumer.accept(state.takeSlice((int) boundary));
+                    sliceCount++;
+                }
+                nextBoundary = boundary + sliceLength;
+            }
+            FifoResolver.resolveQuantum(state, connections, satelliteParams);
+            quantumCount++;
+        }
+        state.publishMetrics(quantumCount);
+        sliceConsumer.accept(state.takeSlice(Integer.MAX_VALUE));
+        log.info("Schedule resolved in " + (sliceCount + 1) + " slice(s).");
+    }
+}
@@ -0,0 +1,178 @@
+package org.satlink.resolvers;
+
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.data.SkipTypes;
+import org.satlink.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+class SweepState {
+    private static final int NO_TRANSACTION = Integer.MIN_VALUE;
+
+    final SatelliteTimeline[] satelliteTimelines;
+    final List<int[]>[] stationTransactions;
+    final SatelliteMemoryModel memoryModel;
+    private final int[] antennaOffsets;
+    private final int[] antennaReadyTimes;
+    private final long[] skipCounts = new long[SkipTypes.values().length];
+    private long transmitCount;
+    List<int[]> skipStats = new ArrayList<>();
+
+    SweepState(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        this.satelliteTimelines = initSatelliteTimelines(flybySchedule);
+        this.stationTransactions = initStationTransactions(connectionSchedule);
+        this.memoryModel = new SatelliteMemoryModel(satelliteParams);
+        final var antennaCounts = getAntennaCounts(connectionSchedule, config);
+        this.antennaOffsets = new int[antennaCounts.length + 1];
+        for (var i = 0; i < antennaCounts.length; i++) {
+            antennaOffsets[i + 1] = antennaOffsets[i] + antennaCounts[i];
+        }
+        this.antennaReadyTimes = new int[antennaOffsets[antennaCounts.length]];
+        Arrays.fill(antennaReadyTimes, NO_TRANSACTION);
+    }
+
+    static int[] getAntennaCounts(Schedule connectionSchedule, Config config) {
+        final var stationNames = connectionSchedule.getStationNames();
+        final var result = new int[stationNames.length];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = config.getAntennaCount(stationNames[i]);
+        }
+        return result;
+    }
+
+    /*
+     * A station is ready as soon as its earliest antenna is; ready times live outside the transaction lists,
+     * so they survive takeSlice. With a single antenna this is the stop time of the last transaction plus one.
+     */
+    int getCurrentTimeForStation(int stationId, int minTime) {
+        var result = Integer.MAX_VALUE;
+        for (var i = antennaOffsets[stationId]; i < antennaOffsets[stationId + 1]; i++) {
+            result = Math.min(result, antennaReadyTimes[i]);
+        }
+        return result == NO_TRANSACTION ? minTime : result;
+    }
+
+    int getMemoryUsage(int satelliteId, int currentTime, int sweepTime) {
+        return memoryModel.getMemoryUsage(satelliteId, satelliteTimelines[satelliteId], currentTime, sweepTime);
+    }
+
+    /*
+     * The transmit takes the antenna that became ready last but no later than currentTime, so antennas that
+     * have been idle longer stay available for quanta that start earlier than this one ended. Transactions
+     * of multi-antenna stations carry the antenna index as their fourth element.
+     */
+    void addTransmit(int stationId, int satelliteId, int currentTime, int stopTime) {
+        transmitCount++;
+        final var firstAntenna = antennaOffsets[stationId];
+        final var antennaCount = antennaOffsets[stationId + 1] - firstAntenna;
+        var antenna = -1;
+        var earliestAntenna = 0;
+        for (var i = 0; i < antennaCount; i++) {
+            final var readyTime = antennaReadyTimes[firstAntenna + i];
+            if (readyTime <= currentTime && (antenna < 0 || readyTime > antennaReadyTimes[firstAntenna + antenna])) antenna = i;
+            if (readyTime < antennaReadyTimes[firstAntenna + earliestAntenna]) earliestAntenna = i;
+        }
+        if (antenna < 0) antenna = earliestAntenna;
+        antennaReadyTimes[firstAntenna + antenna] = stopTime + 1;
+        stationTransactions[stationId].add(antennaCount > 1 ? new int[]{satelliteId, currentTime, stopTime, antenna} : new int[]{satelliteId, currentTime, stopTime});
+        satelliteTimelines[satelliteId].addTransmit(stationId, currentTime, stopTime);
+    }
+
+    void addSkip(SkipTypes skipType, int stationId, int satelliteId, int startTime, int stopTime, int windowIndex, int decisionTime) {
+        skipCounts[skipType.ordinal()]++;
+        skipStats.add(new int[]{skipType.ordinal(), stationId, satelliteId, startTime, stopTime, windowIndex, decisionTime});
+    }
+
+    void publishMetrics(long quantumCount) {
+        Metrics.add("sweep_quanta_examined", quantumCount);
+        Metrics.add("sweep_transmits_accepted", transmitCount);
+        for (final var skipType : SkipTypes.values()) {
+            Metrics.add("sweep_quanta_skipped_" + skipType.name().toLowerCase(Locale.ROOT), skipCounts[skipType.ordinal()]);
+        }
+        Metrics.add("sweep_memory_queries", memoryModel.queryCount);
+        Metrics.add("sweep_memory_entries_scanned", memoryModel.scannedEntryCount);
+    }
+
+    @SuppressWarnings("All")
+    ResolverResult toResult() {
+        final var satelliteTransactions = new List[satelliteTimelines.length];
+        for (var i = 0; i < satelliteTransactions.length; i++) {
+            satelliteTransactions[i] = satelliteTimelines[i].toList();
+        }
+        sortMultiAntennaStations(stationTransactions);
+        return new ResolverResult(stationTransactions, satelliteTransactions, skipStats);
+    }
+
+    /*
+     * Later quanta start at or after sweepTime and never touch satellite entries that ended before it, so
+     * those entries are final: they are folded into the memory checkpoint and handed out together with
+     * everything recorded for the stations and skips so far. An idle antenna may still take a quantum that
+     * starts before a transmit delayed past sweepTime on another antenna, so multi-antenna stations keep
+     * their transactions starting at or after sweepTime for a later slice.
+     */
+    @SuppressWarnings("All")
+    ResolverResult takeSlice(int sweepTime) {
+        sortMultiAntennaStations(stationTransactions);
+        final var stationSlice = new List[stationTransactions.length];
+        for (var i = 0; i < stationSlice.length; i++) {
+            final var transactions = stationTransactions[i];
+            var count = transactions.size();
+            if (antennaOffsets[i + 1] - antennaOffsets[i] > 1) {
+                while (count > 0 && transactions.get(count - 1)[1] >= sweepTime) count--;
+            }
+            if (count == transactions.size()) {
+                stationSlice[i] = transactions;
+                stationTransactions[i] = new ArrayList<int[]>();
+            } else {
+                stationSlice[i] = new ArrayList<>(transactions.subList(0, count));
+                stationTransactions[i] = new ArrayList<>(transactions.subList(count, transactions.size()));
+            }
+        }
+        final var satelliteSlice = new List[satelliteTimelines.length];
+        for (var i = 0; i < satelliteSlice.length; i++) {
+            final var count = memoryModel.checkpoint(i, satelliteTimelines[i], sweepTime);
+            satelliteSlice[i] = satelliteTimelines[i].removePrefix(count);
+        }
+        final var skipSlice = skipStats;
+        skipStats = new ArrayList<>();
+        return new ResolverResult(stationSlice, satelliteSlice, skipSlice);
+    }
+
+    /*
+     * An idle antenna lets a quantum start earlier than a transmit already recorded on another antenna, so
+     * transactions of multi-antenna stations are recorded out of start order. The sort is stable: each
+     * antenna keeps its own order.
+     */
+    private void sortMultiAntennaStations(List<int[]>[] stationLists) {
+        for (var i = 0; i < stationLists.length; i++) {
+            if (antennaOffsets[i + 1] - antennaOffsets[i] > 1) stationLists[i].sort(Comparator.comparingInt(transaction -> transaction[1]));
+        }
+    }
+
+    @SuppressWarnings("All")
+    private static List<int[]>[] initStationTransactions(Schedule connectionSchedule) {
+        final var result = new ArrayList[connectionSchedule.getStationNames().length];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = new ArrayList<int[]>();
+        }
+        return result;
+    }
+
+    private static SatelliteTimeline[] initSatelliteTimelines(Schedule flybySchedule) {
+        final var result = new SatelliteTimeline[flybySchedule.getSatelliteNames().length];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = new SatelliteTimeline();
+        }
+        final var satelliteIds = flybySchedule.getSatelliteIds();
+        for (var i = 0; i < flybySchedule.size(); i++) {
+            result[satelliteIds[i]].addShooting(flybySchedule.getStartTimes()[i], flybySchedule.getStopTimes()[i]);
+        }
+        return result;
+    }
+}
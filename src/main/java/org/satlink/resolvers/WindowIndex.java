@@ -0,0 +1,77 @@
+package org.satlink.resolvers;
+
+import org.satlink.data.Schedule;
+import org.satlink.utils.SortUtils;
+
+class WindowIndex {
+    private final int[] offsets;
+    private final int[] startTimes;
+    private final int[] maxStopTimes;
+
+    /*
+     * Windows of each key are sorted by start time and maxStopTimes holds the running maximum of stop times
+     * within the key, so [start, stop] is covered by some window exactly when the last window starting at or
+     * before start has a running maximum of at least stop.
+     */
+    WindowIndex(int keyCount, int[] keys, int[] startTimes, int[] stopTimes) {
+        final var order = SortUtils.sortedOrder(keys, startTimes);
+        this.offsets = new int[keyCount + 1];
+        this.startTimes = new int[order.length];
+        this.maxStopTimes = new int[order.length];
+        for (final var key : keys) {
+            offsets[key + 1]++;
+        }
+        for (var key = 0; key < keyCount; key++) {
+            offsets[key + 1] += offsets[key];
+        }
+        var lastKey = -1;
+        for (var i = 0; i < order.length; i++) {
+            final var window = order[i];
+            this.startTimes[i] = startTimes[window];
+            maxStopTimes[i] = keys[window] == lastKey ? Math.max(maxStopTimes[i - 1], stopTimes[window]) : stopTimes[window];
+            lastKey = keys[window];
+        }
+    }
+
+    static WindowIndex forConnections(Schedule connectionSchedule) {
+        final var satelliteCount = connectionSchedule.getSatelliteNames().length;
+        final var stationIds = connectionSchedule.getStationIds();
+        final var satelliteIds = connectionSchedule.getSatelliteIds();
+        final var keys = new int[connectionSchedule.size()];
+        for (var i = 0; i < keys.length; i++) {
+            keys[i] = stationIds[i] * satelliteCount + satelliteIds[i];
+        }
+        return new WindowIndex(connectionSchedule.getStationNames().length * satelliteCount, keys, connectionSchedule.getStartTimes(), connectionSchedule.getStopTimes());
+    }
+
+    boolean covers(int key, int startTime, int stopTime) {
+        return getMaxStopTime(key, startTime) >= stopTime;
+    }
+
+    /*
+     * The latest stop time of the windows of the key that start at or before time: [time, result] is covered
+     * by a single window whenever result >= time. Integer.MIN_VALUE if no window starts that early.
+     */
+    int getMaxStopTime(int key, int time) {
+        if (key < 0 || key >= offsets.length - 1) return Integer.MIN_VALUE;
+        final var index = findFirstStartingAfter(key, time);
+        return index > offsets[key] ? maxStopTimes[index - 1] : Integer.MIN_VALUE;
+    }
+
+    int getNextStartTime(int key, int time) {
+        if (key < 0 || key >= offsets.length - 1) return Integer.MAX_VALUE;
+        final var index = findFirstStartingAfter(key, time);
+        return index < offsets[key + 1] ? startTimes[index] : Integer.MAX_VALUE;
+    }
+
+    private int findFirstStartingAfter(int key, int time) {
+        var low = offsets[key];
+        var high = offsets[key + 1];
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (startTimes[middle] <= time) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+}
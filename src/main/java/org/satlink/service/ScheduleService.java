@@ -0,0 +1,244 @@
+package org.satlink.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.ResolverTypes;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.loaders.SchedulesLoader;
+import org.satlink.resolvers.IncrementalFifoResolver;
+import org.satlink.resolvers.Resolver;
+import org.satlink.resolvers.ResolverFactory;
+import org.satlink.resolvers.ResolverResult;
+import org.satlink.resolvers.ResultChecker;
+import org.satlink.utils.Metrics;
+import org.satlink.writers.ResultsWriter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ScheduleService {
+    private static final long RELOAD_DELAY_MILLIS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Config config;
+    private final Path connectionSchedulesPath;
+    private final Path flybySchedulesPath;
+    private final Resolver resolver;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private ScheduledFuture<?> pendingReload;
+
+    private volatile boolean inputChanged = true;
+    private volatile String lastStatus = "{\"state\": \"starting\"}";
+    private Schedule connectionSchedule;
+    private Schedule flybySchedule;
+    private SatelliteParams[] satelliteParams;
+
+    public ScheduleService(Config config) {
+        this.config = config;
+        this.connectionSchedulesPath = Path.of(config.connectionSchedulesPath);
+        this.flybySchedulesPath = Path.of(config.flybySchedulesPath);
+        this.resolver = createResolver(config);
+    }
+
+    /* FIFO always keeps its incremental state in memory here; resolverStatePath only adds the state file. */
+    private static Resolver createResolver(Config config) {
+        if (config.resolverType != ResolverTypes.FIFO) return ResolverFactory.create(config.resolverType, config);
+        if (config.resolverThreads != 1) log.warn("Incremental FIFO calculation runs in one thread: resolverThreads is ignored.");
+        return new IncrementalFifoResolver();
+    }
+
+    /*
+     * Schedules, the resolver and its incremental state stay resident between runs. All runs go through one
+     * executor thread, so a change in the input directories and an HTTP request never calculate concurrently;
+     * inputs are parsed again only after the directories changed.
+     */
+    public void start() throws IOException {
+        final var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.servicePort), 0);
+        server.createContext("/recompute", this::handleRecompute);
+        server.createContext("/status", this::handleStatus);
+        final var serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+
+        final var watchService = FileSystems.getDefault().newWatchService();
+        for (final var path : new Path[]{connectionSchedulesPath, flybySchedulesPath}) {
+            path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        final var watcher = new Thread(() -> watch(watchService), "schedule-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stop(server, serverExecutor, watchService), "schedule-service-shutdown"));
+        executor.submit(this::calculate);
+        server.start();
+        log.info("Schedule service started on " + server.getAddress() + ".");
+    }
+
+    private void watch(WatchService watchService) {
+        while (true) {
+            try {
+                final var key = watchService.take();
+                if (!key.pollEvents().isEmpty()) {
+                    invalidateInput();
+                    scheduleReload();
+                }
+                key.reset();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    void invalidateInput() {
+        inputChanged = true;
+    }
+
+    /*
+     * Every change restarts the delay, so a file that is still being copied keeps postponing the reload
+     * until the directories have been quiet for RELOAD_DELAY_MILLIS. A reload that is already running is
+     * not cancelled; the rescheduled one follows it.
+     */
+    private synchronized void scheduleReload() {
+        if (executor.isShutdown()) return;
+        if (pendingReload != null) pendingReload.cancel(false);
+        pendingReload = executor.schedule(this::calculate, RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /* A calculation in progress gets SHUTDOWN_TIMEOUT_SECONDS to finish its output; a pending reload is dropped. */
+    private void stop(HttpServer server, ExecutorService serverExecutor, WatchService watchService) {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the input watcher: " + e);
+        }
+        synchronized (this) {
+            if (pendingReload != null) pendingReload.cancel(false);
+            executor.shutdown();
+        }
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        log.info("Schedule service stopped.");
+    }
+
+    String calculate() {
+        final var startTime = System.nanoTime();
+        Metrics.reset();
+        try {
+            if (inputChanged) {
+                inputChanged = false;
+                final var loadedConnectionSchedule = SchedulesLoader.getConnectionSchedules(connectionSchedulesPath, config);
+                final var loadedFlybySchedule = SchedulesLoader.getFlybySchedules(flybySchedulesPath, config);
+                connectionSchedule = loadedConnectionSchedule.alignTo(loadedFlybySchedule, config.timeTick);
+                flybySchedule = loadedFlybySchedule.alignTo(loadedConnectionSchedule, config.timeTick);
+                satelliteParams = SchedulesLoader.getSatellitesParams(connectionSchedule.getSatelliteNames(), config);
+                log.info("Input schedules loaded.");
+            }
+
+            final var result = Metrics.measure("resolve", () -> resolver.resolve(connectionSchedule, flybySchedule, satelliteParams, config));
+            try (final var checker = new ResultChecker(connectionSchedule, flybySchedule, config)) {
+                checker.check(result);
+            }
+            final var writer = new ResultsWriter(connectionSchedule, flybySchedule, satelliteParams, config);
+            writer.save(result);
+            Metrics.save(Path.of(config.statisticsPath));
+
+            lastStatus = getStatus(result, writer, (System.nanoTime() - startTime) / 1_000_000);
+            log.info("Schedule calculation complete.");
+        } catch (Exception e) {
+            log.error("Schedule calculation failed.", e);
+            inputChanged = true;
+            lastStatus = String.format("{\"state\": \"failed\", \"error\": \"%s\"}", escape(String.valueOf(e.getMessage())));
+        }
+        return lastStatus;
+    }
+
+    private void handleRecompute(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "{\"error\": \"POST expected\"}");
+            return;
+        }
+        try {
+            respond(exchange, 200, executor.submit(this::calculate).get());
+        } catch (ExecutionException e) {
+            respond(exchange, 500, String.format("{\"error\": \"%s\"}", escape(String.valueOf(e.getCause()))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "{\"error\": \"interrupted\"}");
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, lastStatus);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (final var output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String getStatus(ResolverResult result, ResultsWriter writer, long elapsedMillis) {
+        var transmits = 0;
+        var receivedAmount = 0.0;
+        for (final var stationTransactions : result.getStationTransactions()) {
+            for (final var transaction : stationTransactions) {
+                transmits++;
+                receivedAmount += writer.getDataAmount(transaction);
+            }
+        }
+        return String.format(Locale.ROOT, "{\"state\": \"ok\", \"transmits\": %d, \"skips\": %d, \"receivedMb\": %.3f, \"elapsedMs\": %d}",
+                transmits, result.getSkipStats().size(), receivedAmount, elapsedMillis);
+    }
+
+    private static String escape(String value) {
+        final var result = new StringBuilder(value.length());
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            switch (c) {
+                case '\\' -> result.append("\\\\");
+                case '"' -> result.append("\\\"");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                case '\t' -> result.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+                }
+            }
+        }
+        return result.toString();
+    }
+}
@@ -15,12 +15,12 @@ import java.util.stream.Stream;
 @UtilityClass
 public class FileUtils {
     public static List<File> getFilteredFilesFromDirectory(Config config, Path directoryPath, BiPredicate<File, Config> filter) {
-        return Stream
+        return Metrics.measure("discovery", () -> Stream
                 .of(Objects
                         .requireNonNull(directoryPath
                                 .toFile()
                                 .listFiles()))
                 .filter(f -> filter.test(f, config))
-                .toList();
+                .toList());
     }
 }
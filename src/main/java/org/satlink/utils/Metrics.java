@@ -0,0 +1,158 @@
+package org.satlink.utils;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Slf4j
+@UtilityClass
+public class Metrics {
+    private static final String PREFIX = "satlink_";
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private static final Map<String, long[]> phases = new LinkedHashMap<>();
+    private static final Map<String, Long> counters = new LinkedHashMap<>();
+
+    /*
+     * Wall time and allocated bytes are taken on the calling thread, so allocations of worker threads a phase
+     * waits for (parallel loading, partitioned resolving) are not included. Repeated phases are summed.
+     */
+    public static Phase start(String phase) {
+        return new Phase(phase, System.nanoTime(), getAllocatedBytes());
+    }
+
+    public static <T> T measure(String phase, Supplier<T> action) {
+        try (final var ignored = start(phase)) {
+            return action.get();
+        }
+    }
+
+    public static void add(String counter, long value) {
+        synchronized (counters) {
+            counters.merge(counter, value, Long::sum);
+        }
+    }
+
+    public static void reset() {
+        synchronized (phases) {
+            phases.clear();
+        }
+        synchronized (counters) {
+            counters.clear();
+        }
+    }
+
+    public static void save(Path statisticsPath) {
+        final Map<String, long[]> phasesCopy;
+        final Map<String, Long> countersCopy;
+        synchronized (phases) {
+            phasesCopy = new LinkedHashMap<>(phases);
+        }
+        synchronized (counters) {
+            countersCopy = new LinkedHashMap<>(counters);
+        }
+        try {
+            Files.createDirectories(statisticsPath);
+            write(statisticsPath.resolve("Metrics.json"), printWriter -> writeJson(printWriter, phasesCopy, countersCopy));
+            write(statisticsPath.resolve("Metrics.prom"), printWriter -> writePrometheus(printWriter, phasesCopy, countersCopy));
+        } catch (Exception e) {
+            log.warn("Failed to save metrics to " + statisticsPath + ".", e);
+        }
+    }
+
+    private static void writeJson(PrintWriter printWriter, Map<String, long[]> phases, Map<String, Long> counters) {
+        printWriter.println("{");
+        printWriter.println("  \"phases\": [");
+        var index = 0;
+        for (final var phase : phases.entrySet()) {
+            final var values = phase.getValue();
+            printWriter.print(String.format(Locale.ROOT, "    {\"name\": \"%s\", \"calls\": %d, \"wallSeconds\": %.6f, \"allocatedBytes\": %d}",
+                    phase.getKey(), values[0], values[1] * 1e-9, values[2]));
+            printWriter.println(++index < phases.size() ? "," : "");
+        }
+        printWriter.println("  ],");
+        printWriter.println("  \"counters\": {");
+        index = 0;
+        for (final var counter : counters.entrySet()) {
+            printWriter.print(String.format(Locale.ROOT, "    \"%s\": %d", counter.getKey(), counter.getValue()));
+            printWriter.println(++index < counters.size() ? "," : "");
+        }
+        printWriter.println("  }");
+        printWriter.println("}");
+    }
+
+    private static void writePrometheus(PrintWriter printWriter, Map<String, long[]> phases, Map<String, Long> counters) {
+        printWriter.println("# TYPE " + PREFIX + "phase_calls gauge");
+        for (final var phase : phases.entrySet()) {
+            printWriter.println(String.format(Locale.ROOT, "%sphase_calls{phase=\"%s\"} %d", PREFIX, phase.getKey(), phase.getValue()[0]));
+        }
+        printWriter.println("# TYPE " + PREFIX + "phase_seconds gauge");
+        for (final var phase : phases.entrySet()) {
+            printWriter.println(String.format(Locale.ROOT, "%sphase_seconds{phase=\"%s\"} %.6f", PREFIX, phase.getKey(), phase.getValue()[1] * 1e-9));
+        }
+        printWriter.println("# TYPE " + PREFIX + "phase_allocated_bytes gauge");
+        for (final var phase : phases.entrySet()) {
+            printWriter.println(String.format(Locale.ROOT, "%sphase_allocated_bytes{phase=\"%s\"} %d", PREFIX, phase.getKey(), phase.getValue()[2]));
+        }
+        for (final var counter : counters.entrySet()) {
+            printWriter.println("# TYPE " + PREFIX + counter.getKey() + " gauge");
+            printWriter.println(String.format(Locale.ROOT, "%s%s %d", PREFIX, counter.getKey(), counter.getValue()));
+        }
+    }
+
+    private static void write(Path outputFile, Consumer<PrintWriter> writer) throws IOException {
+        try (final var printWriter = new PrintWriter(new BufferedWriter(new FileWriter(outputFile.toFile())))) {
+            writer.accept(printWriter);
+            if (printWriter.checkError()) throw new IOException("Failed to write " + outputFile);
+        }
+    }
+
+    private static void record(String phase, long elapsed, long allocated) {
+        synchronized (phases) {
+            final var values = phases.computeIfAbsent(phase, key -> new long[3]);
+            values[0]++;
+            values[1] += elapsed;
+            values[2] += allocated;
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            return bean;
+        }
+        return null;
+    }
+
+    public static class Phase implements AutoCloseable {
+        private final String name;
+        private final long startTime;
+        private final long startBytes;
+
+        private Phase(String name, long startTime, long startBytes) {
+            this.name = name;
+            this.startTime = startTime;
+            this.startBytes = startBytes;
+        }
+
+        @Override
+        public void close() {
+            record(name, System.nanoTime() - startTime, getAllocatedBytes() - startBytes);
+        }
+    }
+}
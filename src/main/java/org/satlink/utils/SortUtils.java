@@ -0,0 +1,58 @@
+package org.satlink.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+@UtilityClass
+public class SortUtils {
+    private static final int DIGIT_BITS = 16;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    public static int[] sortedOrder(int[]... keys) {
+        final var size = keys[0].length;
+        var order = new int[size];
+        var buffer = new int[size];
+        for (var i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        final var counts = new int[DIGIT_MASK + 2];
+        for (var k = keys.length - 1; k >= 0; k--) {
+            for (var shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+                if (radixPass(order, buffer, keys[k], shift, counts)) {
+                    final var swap = order;
+                    order = buffer;
+                    buffer = swap;
+                }
+            }
+        }
+        return order;
+    }
+
+    public static void permute(int[] values, int[] order) {
+        final var source = values.clone();
+        for (var i = 0; i < order.length; i++) {
+            values[i] = source[order[i]];
+        }
+    }
+
+    private static boolean radixPass(int[] order, int[] target, int[] keys, int shift, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (final var index : order) {
+            counts[digit(keys[index], shift) + 1]++;
+        }
+        for (var i = 0; i < counts.length - 1; i++) {
+            if (counts[i + 1] == order.length) return false;
+            counts[i + 1] += counts[i];
+        }
+        for (final var index : order) {
+            target[counts[digit(keys[index], shift)]++] = index;
+        }
+        return true;
+    }
+
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+}
@@ -0,0 +1,396 @@
+package org.satlink.writers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.ResolverTypes;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.data.SkipTypes;
+import org.satlink.exceptions.ResultWriteException;
+import org.satlink.resolvers.ResolverResult;
+import org.satlink.utils.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ResultsWriter {
+    static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int RESULT_COLUMN_WIDTH = 30;
+    private static final String SEPARATOR = ", ";
+    private static final SkipTypes[] SKIP_TYPES = SkipTypes.values();
+    static final String SKIP_WINDOW_STATS_HEADER = "SkipType, StationId, SatelliteId, StartTime(UTC), StopTime(UTC), Duration(ms)";
+    static final String SATELLITE_TRANSACTIONS_HEADER = "StationId, SatelliteId, StartTime(UTC), StopTime(UTC), Duration(ms), MemoryOnStart(ms), MemoryOnStop(ms), SentAmount(ms), IdleTime(ms)";
+    static final String STATION_TRANSACTIONS_HEADER = "StationId, SatelliteId, StartTime(UTC), StopTime(UTC), Duration(ms)";
+    static final String ANTENNA_COLUMN = ", Antenna";
+
+    private final Schedule connectionSchedule;
+    private final Schedule flybySchedule;
+    private final SatelliteParams[] satelliteParams;
+    private final Config config;
+
+    public void save(ResolverResult result) {
+        final var statisticsPath = Paths.get(config.statisticsPath);
+        final var resultsPath = Paths.get(config.resultsPath);
+        createDirectories(statisticsPath, resultsPath);
+
+        final var stationTransactions = result.getStationTransactions();
+        final var tasks = new LinkedHashMap<Path, Consumer<PrintWriter>>();
+        tasks.put(statisticsPath.resolve("StationStats.csv"), printWriter -> saveStationStats(printWriter, stationTransactions));
+        tasks.put(statisticsPath.resolve("StationsSchedules.csv"), this::saveStationsSchedules);
+        tasks.put(statisticsPath.resolve("ShootingSchedules.csv"), this::saveShootingSchedules);
+        tasks.put(statisticsPath.resolve("StationTransactions.csv"), printWriter -> saveStationsTransactions(printWriter, stationTransactions));
+        tasks.put(statisticsPath.resolve("SatelliteTransactions.csv"), printWriter -> saveSatelliteTransactions(printWriter, result.getSatelliteTransactions()));
+        tasks.put(statisticsPath.resolve("SkipWindowStats.csv"), printWriter -> saveSkipWindowStats(printWriter, result.getSkipStats()));
+        tasks.put(statisticsPath.resolve("StationDataAmountReceived.csv"), printWriter -> saveStationDataAmountReceived(printWriter, stationTransactions));
+        for (var stationId = 0; stationId < stationTransactions.length; stationId++) {
+            final var stationName = connectionSchedule.getStationNames()[stationId];
+            final var stationSchedule = stationTransactions[stationId];
+            tasks.put(resultsPath.resolve(stationName + "-Schedule.txt"), printWriter -> saveStationResult(printWriter, stationSchedule, stationName));
+        }
+
+        writeAll(tasks);
+    }
+
+    public void saveComparison(ResolverTypes resolverType, ResolverResult result, ResolverTypes compareResolverType, ResolverResult compareResult) {
+        final var statisticsPath = Paths.get(config.statisticsPath);
+        createDirectories(statisticsPath);
+
+        final var tasks = new LinkedHashMap<Path, Consumer<PrintWriter>>();
+        tasks.put(statisticsPath.resolve("ResolverComparison.csv"), printWriter -> {
+            final var amounts = getStationDataAmounts(result.getStationTransactions());
+            final var compareAmounts = getStationDataAmounts(compareResult.getStationTransactions());
+            var total = 0.0;
+            var compareTotal = 0.0;
+            printWriter.println(String.format("Station name, %s(MB), %s(MB), Difference(MB)", resolverType, compareResolverType));
+            for (int i = 0; i < amounts.length; i++) {
+                total += amounts[i];
+                compareTotal += compareAmounts[i];
+                printWriter.println(String.format("%s, %10.3f, %10.3f, %10.3f", connectionSchedule.getStationNames()[i], amounts[i], compareAmounts[i], compareAmounts[i] - amounts[i]));
+            }
+            printWriter.println(String.format("Total, %10.3f, %10.3f, %10.3f", total, compareTotal, compareTotal - total));
+            log.info(String.format("Received amount: %s %.3f MB, %s %.3f MB, difference %.3f MB.", resolverType, total, compareResolverType, compareTotal, compareTotal - total));
+        });
+
+        writeAll(tasks);
+    }
+
+    void writeAll(Map<Path, Consumer<PrintWriter>> tasks) {
+        final var threads = Math.min(getWriterThreads(), tasks.size());
+        final var executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        try {
+            final var futures = new LinkedHashMap<Path, Future<?>>();
+            for (final var task : tasks.entrySet()) {
+                futures.put(task.getKey(), executor.submit(() -> {
+                    write(task.getKey(), task.getValue());
+                    return null;
+                }));
+            }
+
+            final var failures = new LinkedHashMap<Path, Throwable>();
+            for (final var future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(future.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.put(future.getKey(), e);
+                }
+            }
+            if (!failures.isEmpty()) {
+                final var exception = new ResultWriteException(failures);
+                log.error(exception.getMessage());
+                throw exception;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int getWriterThreads() {
+        return config.writerThreads > 0 ? config.writerThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static void write(Path outputFile, Consumer<PrintWriter> task) throws IOException {
+        try (final var ignored = Metrics.start("write." + outputFile.getFileName());
+             final var printWriter = new PrintWriter(new BufferedWriter(new FileWriter(outputFile.toFile()), WRITE_BUFFER_SIZE))) {
+            task.accept(printWriter);
+            if (printWriter.checkError()) throw new IOException("Failed to write " + outputFile);
+        }
+    }
+
+    static void createDirectories(Path... paths) {
+        final var failures = new LinkedHashMap<Path, Throwable>();
+        for (final var path : paths) {
+            try {
+                Files.createDirectories(path);
+            } catch (Exception e) {
+                failures.put(path, e);
+            }
+        }
+        if (!failures.isEmpty()) throw new ResultWriteException(failures);
+    }
+
+    RowEncoder createMainEncoder() {
+        return new RowEncoder(connectionSchedule.getStartInstant(), config.timeTick, config.mainDateTimeFormatter, config.mainDateTimePattern);
+    }
+
+    RowEncoder createStatisticsEncoder() {
+        return new RowEncoder(connectionSchedule.getStartInstant(), config.timeTick, config.statisticsDateTimeFormatter, config.statisticsDateTimePattern);
+    }
+
+    private long toMillis(long ticks) {
+        return ticks * config.timeTick;
+    }
+
+    private double[] getStationDataAmounts(List<int[]>[] stationTransactions) {
+        final var result = new double[stationTransactions.length];
+        for (int i = 0; i < stationTransactions.length; i++) {
+            var amount = 0.0;
+            for (final var entry : stationTransactions[i]) {
+                amount += getDataAmount(entry);
+            }
+            result[i] = amount;
+        }
+        return result;
+    }
+
+    public double getDataAmount(int[] stationTransaction) {
+        return toMillis(stationTransaction[2] - stationTransaction[1]) * 0.001 * satelliteParams[stationTransaction[0]].getBandwidth();
+    }
+
+    private void saveStationDataAmountReceived(PrintWriter printWriter, List<int[]>[] stationTransactions) {
+        writeStationDataAmounts(printWriter, getStationDataAmounts(stationTransactions));
+    }
+
+    void writeStationDataAmounts(PrintWriter printWriter, double[] amounts) {
+        printWriter.println("Station name, Received amount(MB)");
+        for (int i = 0; i < amounts.length; i++) {
+            printWriter.println(String.format("%s, %10.3f", connectionSchedule.getStationNames()[i], amounts[i]));
+        }
+    }
+
+    private void saveStationResult(PrintWriter printWriter, List<int[]> stationSchedule, String stationName) {
+        writeStationResultHeader(printWriter, stationName);
+        final var encoder = createMainEncoder();
+        for (final var scheduleEntry : stationSchedule) {
+            writeStationResultRow(encoder, printWriter, scheduleEntry);
+        }
+    }
+
+    void writeStationResultHeader(PrintWriter printWriter, String stationName) {
+        printWriter.println(stationName);
+        printWriter.println("-------------------------");
+        printWriter.println("Start Time (UTCG) * Stop Time (UTCG) * Duration (sec) * Satname * Data (Mbytes)"
+                + (config.getAntennaCount(stationName) > 1 ? " * Antenna" : ""));
+    }
+
+    void writeStationResultRow(RowEncoder encoder, PrintWriter printWriter, int[] scheduleEntry) {
+        final var duration = toMillis(scheduleEntry[2] - scheduleEntry[1]);
+        final var satName = connectionSchedule.getSatelliteNames()[scheduleEntry[0]];
+        final var data = (long) satelliteParams[scheduleEntry[0]].getBandwidth() * duration;
+
+        encoder.appendTimestamp(scheduleEntry[1]).padLeft(0, RESULT_COLUMN_WIDTH);
+        var mark = encoder.length();
+        encoder.appendTimestamp(scheduleEntry[2]).padLeft(mark, RESULT_COLUMN_WIDTH);
+        mark = encoder.length();
+        encoder.appendThousandths(duration).padLeft(mark, RESULT_COLUMN_WIDTH);
+        mark = encoder.length();
+        encoder.appendText(satName).padLeft(mark, RESULT_COLUMN_WIDTH);
+        mark = encoder.length();
+        encoder.appendThousandths(data).padLeft(mark, RESULT_COLUMN_WIDTH);
+        if (scheduleEntry.length > 3) {
+            mark = encoder.length();
+            encoder.appendInt(scheduleEntry[3]).padLeft(mark, RESULT_COLUMN_WIDTH);
+        }
+        encoder.writeLine(printWriter);
+    }
+
+    private void saveStationStats(PrintWriter printWriter, List<int[]>[] stationTransactions) {
+        final var stationCount = stationTransactions.length;
+        final var transactionTimes = new long[stationCount];
+        final var satelliteCounts = new int[stationCount];
+        for (var i = 0; i < stationCount; i++) {
+            final var satellites = new HashSet<Integer>();
+            for (final var transaction : stationTransactions[i]) {
+                satellites.add(transaction[0]);
+                transactionTimes[i] += transaction[2] - transaction[1];
+            }
+            satelliteCounts[i] = satellites.size();
+        }
+        writeStationStats(printWriter, transactionTimes, satelliteCounts);
+    }
+
+    void writeStationStats(PrintWriter printWriter, long[] transactionTimes, int[] satelliteCounts) {
+        final var rxLimits = getStationsRxLimit();
+        final var encoder = createStatisticsEncoder();
+        printWriter.println("StationId, ReceiveTime, TimeLimit, SatellitesNumber");
+        for (var i = 0; i < transactionTimes.length; i++) {
+            encoder.appendInt(i).appendText(SEPARATOR).appendInt(toMillis(transactionTimes[i])).appendText(SEPARATOR)
+                    .appendInt(toMillis(rxLimits[i])).appendText(SEPARATOR).appendInt(satelliteCounts[i])
+                    .writeLine(printWriter);
+        }
+    }
+
+    private void saveSkipWindowStats(PrintWriter printWriter, List<int[]> skipStats) {
+        printWriter.println(SKIP_WINDOW_STATS_HEADER);
+        final var encoder = createStatisticsEncoder();
+        for (final var entry : skipStats) {
+            writeSkipWindowRow(encoder, printWriter, entry);
+        }
+    }
+
+    @SuppressWarnings({"Duplicates", "java:S1192"})
+    void writeSkipWindowRow(RowEncoder encoder, PrintWriter printWriter, int[] entry) {
+        encoder.appendText(SKIP_TYPES[entry[0]].toString()).appendText(SEPARATOR).appendInt(entry[1]).appendText(SEPARATOR)
+                .appendInt(entry[2]).appendText(SEPARATOR).appendTimestamp(entry[3]).appendText(SEPARATOR)
+                .appendTimestamp(entry[4]).appendText(SEPARATOR).appendInt(toMillis(entry[4] - entry[3]))
+                .writeLine(printWriter);
+    }
+
+    private void saveSatelliteTransactions(PrintWriter printWriter, List<int[]>[] satelliteTransactions) {
+        printWriter.println(SATELLITE_TRANSACTIONS_HEADER);
+        final var encoder = createStatisticsEncoder();
+        for (int satelliteId = 0; satelliteId < satelliteTransactions.length; satelliteId++) {
+            var memoryOnStop = 0;
+            for (final var entry : satelliteTransactions[satelliteId]) {
+                memoryOnStop = writeSatelliteTransactionRow(encoder, printWriter, satelliteId, entry, memoryOnStop);
+            }
+        }
+    }
+
+    @SuppressWarnings({"Duplicates", "java:S1192"})
+    int writeSatelliteTransactionRow(RowEncoder encoder, PrintWriter printWriter, int satelliteId, int[] entry, int memoryOnStop) {
+        var idleTime = 0;
+        final var memoryOnStart = memoryOnStop;
+        final var sentAmount = entry[0] >= 0 ? (entry[2] - entry[1]) / satelliteParams[satelliteId].getTransmitRatio() : 0;
+
+        memoryOnStop += entry[0] < 0 ? entry[2] - entry[1] : -sentAmount;
+        memoryOnStop = memoryOnStop == -1 ? 0 : memoryOnStop;
+        if (memoryOnStop > satelliteParams[satelliteId].getMaxTimeAmount()) {
+            idleTime = memoryOnStop - satelliteParams[satelliteId].getMaxTimeAmount();
+            memoryOnStop = satelliteParams[satelliteId].getMaxTimeAmount();
+        }
+        encoder.appendInt(entry[0]).appendText(SEPARATOR).appendInt(satelliteId).appendText(SEPARATOR)
+                .appendTimestamp(entry[1]).appendText(SEPARATOR).appendTimestamp(entry[2]).appendText(SEPARATOR)
+                .appendInt(toMillis(entry[2] - entry[1])).appendText(SEPARATOR).appendInt(toMillis(memoryOnStart)).appendText(SEPARATOR)
+                .appendInt(toMillis(memoryOnStop)).appendText(SEPARATOR).appendInt(toMillis(sentAmount)).appendText(SEPARATOR).appendInt(toMillis(idleTime))
+                .writeLine(printWriter);
+        return memoryOnStop;
+    }
+
+    private void saveStationsTransactions(PrintWriter printWriter, List<int[]>[] stationTransactions) {
+        final var withAntenna = hasMultipleAntennas();
+        printWriter.println(getStationTransactionsHeader(withAntenna));
+        final var encoder = createStatisticsEncoder();
+        for (int i = 0; i < stationTransactions.length; i++) {
+            for (final var entry : stationTransactions[i]) {
+                writeStationTransactionRow(encoder, printWriter, i, entry, withAntenna);
+            }
+        }
+    }
+
+    /*
+     * Transactions of different antennas of a station may overlap, so when any station has several antennas
+     * every row carries the antenna index (0 for single-antenna stations).
+     */
+    boolean hasMultipleAntennas() {
+        for (final var stationName : connectionSchedule.getStationNames()) {
+            if (config.getAntennaCount(stationName) > 1) return true;
+        }
+        return false;
+    }
+
+    static String getStationTransactionsHeader(boolean withAntenna) {
+        return withAntenna ? STATION_TRANSACTIONS_HEADER + ANTENNA_COLUMN : STATION_TRANSACTIONS_HEADER;
+    }
+
+    @SuppressWarnings({"Duplicates", "java:S1192"})
+    void writeStationTransactionRow(RowEncoder encoder, PrintWriter printWriter, int stationId, int[] entry, boolean withAntenna) {
+        encoder.appendInt(stationId).appendText(SEPARATOR).appendInt(entry[0]).appendText(SEPARATOR)
+                .appendTimestamp(entry[1]).appendText(SEPARATOR).appendTimestamp(entry[2]).appendText(SEPARATOR)
+                .appendInt(toMillis(entry[2] - entry[1]));
+        if (withAntenna) encoder.appendText(SEPARATOR).appendInt(entry.length > 3 ? entry[3] : 0);
+        encoder.writeLine(printWriter);
+    }
+
+    void saveShootingSchedules(PrintWriter printWriter) {
+        printWriter.println("SatelliteId, StartTime(UTC), StopTime(UTC), Duration(ms)");
+        final var encoder = createStatisticsEncoder();
+        final var satelliteIds = flybySchedule.getSatelliteIds();
+        final var startTimes = flybySchedule.getStartTimes();
+        final var stopTimes = flybySchedule.getStopTimes();
+        for (var i = 0; i < flybySchedule.size(); i++) {
+            encoder.appendInt(satelliteIds[i]).appendText(SEPARATOR).appendTimestamp(startTimes[i]).appendText(SEPARATOR)
+                    .appendTimestamp(stopTimes[i]).appendText(SEPARATOR).appendInt(toMillis(stopTimes[i] - startTimes[i]))
+                    .writeLine(printWriter);
+        }
+    }
+
+    void saveStationsSchedules(PrintWriter printWriter) {
+        printWriter.println("StationId, SatelliteId, StartTime(UTC), StopTime(UTC), Duration(ms)");
+        final var encoder = createStatisticsEncoder();
+        final var stationIds = connectionSchedule.getStationIds();
+        final var satelliteIds = connectionSchedule.getSatelliteIds();
+        final var startTimes = connectionSchedule.getStartTimes();
+        final var stopTimes = connectionSchedule.getStopTimes();
+        for (var i = 0; i < connectionSchedule.size(); i++) {
+            encoder.appendInt(stationIds[i]).appendText(SEPARATOR).appendInt(satelliteIds[i]).appendText(SEPARATOR)
+                    .appendTimestamp(startTimes[i]).appendText(SEPARATOR).appendTimestamp(stopTimes[i]).appendText(SEPARATOR)
+                    .appendInt(toMillis(stopTimes[i] - startTimes[i]))
+                    .writeLine(printWriter);
+        }
+    }
+
+    private long[] getStationsRxLimit() {
+        final var result = new long[connectionSchedule.getStationNames().length];
+        final var stationsSchedules = initStationsSchedules();
+        int stationCount = stationsSchedules.length;
+        for (int i = 0; i < stationCount; i++) {
+            final var stationTransactions = stationsSchedules[i];
+            var lastStart = 0;
+            var lastStop = 0;
+            for (final var transaction : stationTransactions) {
+                final var startTime = transaction[1];
+                final var stopTime = transaction[2];
+                if (lastStart == 0) lastStart = startTime;
+                if (lastStop == 0) lastStop = stopTime;
+                if (startTime > lastStop) {
+                    result[i] += lastStop - lastStart;
+                    lastStart = startTime;
+                }
+                lastStop = Math.max(stopTime, lastStop);
+            }
+            result[i] += lastStop - lastStart;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("All")
+    private List<int[]>[] initStationsSchedules() {
+        final var result = new ArrayList[connectionSchedule.getStationNames().length];
+        final var stationIds = connectionSchedule.getStationIds();
+        for (var i = 0; i < connectionSchedule.size(); i++) {
+            if (result[stationIds[i]] == null) result[stationIds[i]] = new ArrayList<int[]>();
+            result[stationIds[i]].add(new int[]{connectionSchedule.getSatelliteIds()[i], connectionSchedule.getStartTimes()[i], connectionSchedule.getStopTimes()[i]});
+        }
+        return result;
+    }
+}
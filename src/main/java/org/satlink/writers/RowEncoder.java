@@ -0,0 +1,170 @@
+package org.satlink.writers;
+
+import org.satlink.data.ScheduleColumns;
+
+import java.io.PrintWriter;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+
+public class RowEncoder {
+    private static final String TIME_SUFFIX = "HH:mm:ss.SSS";
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final LocalDateTime initialTime;
+    private final long initialEpochMillis;
+    private final int timeTick;
+    private final DateTimeFormatter formatter;
+    private final boolean cachedDates;
+    private final boolean plainDigits;
+    private final char decimalSeparator;
+
+    private char[] buffer = new char[256];
+    private int length;
+    private long cachedDay = Long.MIN_VALUE;
+    private String cachedDatePrefix;
+
+    public RowEncoder(LocalDateTime initialTime, int timeTick, DateTimeFormatter formatter, String pattern) {
+        this.initialTime = initialTime;
+        this.initialEpochMillis = ScheduleColumns.toEpochMillis(initialTime);
+        this.timeTick = timeTick;
+        this.formatter = formatter;
+        this.cachedDates = pattern != null && pattern.endsWith(TIME_SUFFIX) && hasTimeIndependentPrefix(initialTime, formatter);
+
+        final var symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.plainDigits = symbols.getZeroDigit() == '0' && symbols.getMinusSign() == '-';
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public RowEncoder appendText(String value) {
+        final var valueLength = value.length();
+        ensureCapacity(valueLength);
+        value.getChars(0, valueLength, buffer, length);
+        length += valueLength;
+        return this;
+    }
+
+    public RowEncoder appendInt(long value) {
+        if (!plainDigits) return appendText(String.format("%d", value));
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) return appendText(Long.toString(value));
+            appendChar('-');
+            value = -value;
+        }
+        ensureCapacity(19);
+        final var start = length;
+        do {
+            buffer[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        reverse(start, length - 1);
+        return this;
+    }
+
+    public RowEncoder appendThousandths(long value) {
+        if (!plainDigits) return appendText(String.format("%.3f", value * 0.001));
+        if (value < 0) {
+            appendChar('-');
+            value = -value;
+        }
+        appendInt(value / 1000);
+        appendChar(decimalSeparator);
+        final var fraction = (int) (value % 1000);
+        ensureCapacity(3);
+        buffer[length++] = (char) ('0' + fraction / 100);
+        buffer[length++] = (char) ('0' + fraction / 10 % 10);
+        buffer[length++] = (char) ('0' + fraction % 10);
+        return this;
+    }
+
+    public RowEncoder appendTimestamp(int offsetTicks) {
+        final var offsetMillis = (long) offsetTicks * timeTick;
+        if (!cachedDates) return appendText(formatter.format(initialTime.plus(offsetMillis, ChronoUnit.MILLIS)));
+
+        final var epochMillis = initialEpochMillis + offsetMillis;
+        final var day = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        if (day != cachedDay) {
+            final var midnight = formatter.format(ScheduleColumns.toLocalDateTime(day * MILLIS_PER_DAY));
+            cachedDatePrefix = midnight.substring(0, midnight.length() - TIME_SUFFIX.length());
+            cachedDay = day;
+        }
+        appendText(cachedDatePrefix);
+
+        var millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        final var millis = millisOfDay % 1000;
+        millisOfDay /= 1000;
+        final var seconds = millisOfDay % 60;
+        millisOfDay /= 60;
+        ensureCapacity(TIME_SUFFIX.length());
+        appendTwoDigits(millisOfDay / 60);
+        buffer[length++] = ':';
+        appendTwoDigits(millisOfDay % 60);
+        buffer[length++] = ':';
+        appendTwoDigits(seconds);
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + millis / 100);
+        appendTwoDigits(millis % 100);
+        return this;
+    }
+
+    public RowEncoder padLeft(int mark, int width) {
+        final var padding = width - (length - mark);
+        if (padding <= 0) return this;
+        ensureCapacity(padding);
+        System.arraycopy(buffer, mark, buffer, mark + padding, length - mark);
+        Arrays.fill(buffer, mark, mark + padding, ' ');
+        length += padding;
+        return this;
+    }
+
+    public void writeLine(PrintWriter printWriter) {
+        printWriter.write(buffer, 0, length);
+        printWriter.println();
+        length = 0;
+    }
+
+    private RowEncoder appendChar(char value) {
+        ensureCapacity(1);
+        buffer[length++] = value;
+        return this;
+    }
+
+    private void appendTwoDigits(int value) {
+        buffer[length++] = (char) ('0' + value / 10);
+        buffer[length++] = (char) ('0' + value % 10);
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            final var value = buffer[from];
+            buffer[from++] = buffer[to];
+            buffer[to--] = value;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+
+    private static boolean hasTimeIndependentPrefix(LocalDateTime initialTime, DateTimeFormatter formatter) {
+        try {
+            final var day = initialTime.toLocalDate();
+            final var first = formatter.format(day.atStartOfDay());
+            final var second = formatter.format(day.atTime(12, 34, 56, 789_000_000));
+            final var third = formatter.format(day.atTime(23, 59, 59, 999_000_000));
+            final var prefixLength = first.length() - TIME_SUFFIX.length();
+            return first.endsWith("00:00:00.000") && second.endsWith("12:34:56.789") && third.endsWith("23:59:59.999")
+                    && second.length() == first.length() && third.length() == first.length()
+                    && first.regionMatches(0, second, 0, prefixLength) && first.regionMatches(0, third, 0, prefixLength);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
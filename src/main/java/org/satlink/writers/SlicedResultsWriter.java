@@ -0,0 +1,263 @@
+package org.satlink.writers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.exceptions.ResultWriteException;
+import org.satlink.resolvers.ResolverResult;
+import org.satlink.resolvers.ResultChecker;
+import org.satlink.utils.Metrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/*
+ * Output files are reopened in append mode for every slice and closed after it, so at most one file is open
+ * at a time regardless of the number of stations and satellites.
+ */
+@Slf4j
+public class SlicedResultsWriter implements Consumer<ResolverResult>, AutoCloseable {
+    private static final int SLICE_QUEUE_CAPACITY = 2;
+    private static final int APPEND_BUFFER_SIZE = 1 << 13;
+    private static final ResolverResult END_OF_SLICES = new ResolverResult(null, null, null);
+
+    private final ResultsWriter resultsWriter;
+    private final ResultChecker checker;
+    private final Path statisticsPath;
+    private final Path resultsPath;
+    private final Path spoolPath;
+    private final BlockingQueue<ResolverResult> slices = new ArrayBlockingQueue<>(SLICE_QUEUE_CAPACITY);
+    private final Thread writerThread = new Thread(this::writeSlices, "sliced-results-writer");
+
+    private final RowEncoder mainEncoder;
+    private final RowEncoder statisticsEncoder;
+    private final Path[] stationResultFiles;
+    private final Path skipWindowFile;
+    private final int satelliteCount;
+    private final boolean withAntenna;
+
+    private final long[] transactionTimes;
+    private final BitSet[] stationSatellites;
+    private final double[] dataAmounts;
+    private final int[] memoryOnStop;
+
+    private volatile Throwable failure;
+    private int sliceCount;
+
+    public SlicedResultsWriter(Schedule connectionSchedule, Schedule flybySchedule, SatelliteParams[] satelliteParams, Config config) {
+        this.resultsWriter = new ResultsWriter(connectionSchedule, flybySchedule, satelliteParams, config);
+        this.checker = new ResultChecker(connectionSchedule, flybySchedule, config);
+        this.statisticsPath = Paths.get(config.statisticsPath);
+        this.resultsPath = Paths.get(config.resultsPath);
+        ResultsWriter.createDirectories(statisticsPath, resultsPath);
+
+        this.mainEncoder = resultsWriter.createMainEncoder();
+        this.statisticsEncoder = resultsWriter.createStatisticsEncoder();
+
+        final var stationNames = connectionSchedule.getStationNames();
+        this.satelliteCount = flybySchedule.getSatelliteNames().length;
+        this.withAntenna = resultsWriter.hasMultipleAntennas();
+        this.stationResultFiles = new Path[stationNames.length];
+        for (var stationId = 0; stationId < stationNames.length; stationId++) {
+            final var stationName = stationNames[stationId];
+            stationResultFiles[stationId] = resultsPath.resolve(stationName + "-Schedule.txt");
+            write(stationResultFiles[stationId], false, printWriter -> resultsWriter.writeStationResultHeader(printWriter, stationName));
+        }
+        this.skipWindowFile = statisticsPath.resolve("SkipWindowStats.csv");
+        write(skipWindowFile, false, printWriter -> printWriter.println(ResultsWriter.SKIP_WINDOW_STATS_HEADER));
+
+        this.transactionTimes = new long[stationNames.length];
+        this.stationSatellites = new BitSet[stationNames.length];
+        for (var stationId = 0; stationId < stationNames.length; stationId++) {
+            stationSatellites[stationId] = new BitSet();
+        }
+        this.dataAmounts = new double[stationNames.length];
+        this.memoryOnStop = new int[satelliteCount];
+
+        this.spoolPath = createSpoolDirectory(statisticsPath);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /*
+     * Slices are checked and written on a separate thread while the resolver computes the next one; the queue
+     * holds at most SLICE_QUEUE_CAPACITY slices, so a slow disk throttles the resolver instead of buffering
+     * the whole horizon in memory.
+     */
+    @Override
+    public void accept(ResolverResult slice) {
+        try {
+            slices.put(slice);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultWriteException(Map.of(statisticsPath, e));
+        }
+    }
+
+    public void finish() {
+        accept(END_OF_SLICES);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultWriteException(Map.of(statisticsPath, e));
+        }
+        if (failure instanceof RuntimeException exception) throw exception;
+        if (failure != null) throw new ResultWriteException(Map.of(statisticsPath, failure));
+
+        final var satelliteCounts = new int[stationSatellites.length];
+        for (var stationId = 0; stationId < satelliteCounts.length; stationId++) {
+            satelliteCounts[stationId] = stationSatellites[stationId].cardinality();
+        }
+        final var tasks = new LinkedHashMap<Path, Consumer<PrintWriter>>();
+        tasks.put(statisticsPath.resolve("StationStats.csv"), printWriter -> resultsWriter.writeStationStats(printWriter, transactionTimes, satelliteCounts));
+        tasks.put(statisticsPath.resolve("StationsSchedules.csv"), resultsWriter::saveStationsSchedules);
+        tasks.put(statisticsPath.resolve("ShootingSchedules.csv"), resultsWriter::saveShootingSchedules);
+        tasks.put(statisticsPath.resolve("StationTransactions.csv"), printWriter -> concatenate(printWriter, ResultsWriter.getStationTransactionsHeader(withAntenna), "station-", stationResultFiles.length));
+        tasks.put(statisticsPath.resolve("SatelliteTransactions.csv"), printWriter -> concatenate(printWriter, ResultsWriter.SATELLITE_TRANSACTIONS_HEADER, "satellite-", satelliteCount));
+        tasks.put(statisticsPath.resolve("StationDataAmountReceived.csv"), printWriter -> resultsWriter.writeStationDataAmounts(printWriter, dataAmounts));
+        resultsWriter.writeAll(tasks);
+        log.info("Results of " + sliceCount + " slice(s) written.");
+    }
+
+    /*
+     * Stops the writer thread if finish() was not reached (the resolver failed) and removes the spool
+     * directory in either case.
+     */
+    @Override
+    public void close() {
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checker.close();
+        deleteSpoolDirectory();
+    }
+
+    private void writeSlices() {
+        while (true) {
+            final ResolverResult slice;
+            try {
+                slice = slices.take();
+            } catch (InterruptedException e) {
+                failure = e;
+                return;
+            }
+            if (slice == END_OF_SLICES) return;
+            if (failure != null) continue;
+            try {
+                checker.checkSlice(slice);
+                try (final var ignored = Metrics.start("write.slices")) {
+                    writeSlice(slice);
+                }
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void writeSlice(ResolverResult slice) {
+        final var stationTransactions = slice.getStationTransactions();
+        for (var stationId = 0; stationId < stationTransactions.length; stationId++) {
+            final var id = stationId;
+            final var transactions = stationTransactions[stationId];
+            if (transactions.isEmpty()) continue;
+            write(stationResultFiles[stationId], true, printWriter -> {
+                for (final var entry : transactions) {
+                    resultsWriter.writeStationResultRow(mainEncoder, printWriter, entry);
+                }
+            });
+            write(spoolPath.resolve("station-" + stationId), true, printWriter -> {
+                for (final var entry : transactions) {
+                    resultsWriter.writeStationTransactionRow(statisticsEncoder, printWriter, id, entry, withAntenna);
+                }
+            });
+            for (final var entry : transactions) {
+                transactionTimes[stationId] += entry[2] - entry[1];
+                stationSatellites[stationId].set(entry[0]);
+                dataAmounts[stationId] += resultsWriter.getDataAmount(entry);
+            }
+        }
+
+        final var satelliteTransactions = slice.getSatelliteTransactions();
+        for (var satelliteId = 0; satelliteId < satelliteTransactions.length; satelliteId++) {
+            final var id = satelliteId;
+            final var transactions = satelliteTransactions[satelliteId];
+            if (transactions.isEmpty()) continue;
+            write(spoolPath.resolve("satellite-" + satelliteId), true, printWriter -> {
+                for (final var entry : transactions) {
+                    memoryOnStop[id] = resultsWriter.writeSatelliteTransactionRow(statisticsEncoder, printWriter, id, entry, memoryOnStop[id]);
+                }
+            });
+        }
+
+        if (!slice.getSkipStats().isEmpty()) {
+            write(skipWindowFile, true, printWriter -> {
+                for (final var entry : slice.getSkipStats()) {
+                    resultsWriter.writeSkipWindowRow(statisticsEncoder, printWriter, entry);
+                }
+            });
+        }
+        sliceCount++;
+    }
+
+    private void concatenate(PrintWriter printWriter, String header, String prefix, int count) {
+        printWriter.println(header);
+        printWriter.flush();
+        for (var id = 0; id < count; id++) {
+            final var spool = spoolPath.resolve(prefix + id);
+            if (!Files.exists(spool)) continue;
+            try (final var reader = new BufferedReader(new FileReader(spool.toFile()), APPEND_BUFFER_SIZE)) {
+                reader.transferTo(printWriter);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void write(Path outputFile, boolean append, Consumer<PrintWriter> task) {
+        try (final var printWriter = new PrintWriter(new BufferedWriter(new FileWriter(outputFile.toFile(), append), APPEND_BUFFER_SIZE))) {
+            task.accept(printWriter);
+            if (printWriter.checkError()) throw new IOException("Failed to write " + outputFile);
+        } catch (IOException e) {
+            throw new ResultWriteException(Map.of(outputFile, e));
+        }
+    }
+
+    private static Path createSpoolDirectory(Path statisticsPath) {
+        try {
+            return Files.createTempDirectory(statisticsPath, "slices");
+        } catch (IOException e) {
+            throw new ResultWriteException(Map.of(statisticsPath, e));
+        }
+    }
+
+    private void deleteSpoolDirectory() {
+        if (!Files.exists(spoolPath)) return;
+        try (final var files = Files.walk(spoolPath)) {
+            for (final var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete " + spoolPath + ": " + e);
+        }
+    }
+}
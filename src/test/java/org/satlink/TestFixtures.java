@@ -0,0 +1,118 @@
+package org.satlink;
+
+import lombok.experimental.UtilityClass;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+import org.satlink.loaders.ConfigLoader;
+import org.satlink.loaders.SchedulesLoader;
+import org.satlink.resolvers.ResolverResult;
+import org.satlink.writers.ResultsWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * The fixture is one day of visibility windows for 3 stations and 6 satellites; fixture/expected holds the
+ * output of the original FIFO implementation on it.
+ */
+@UtilityClass
+public class TestFixtures {
+    public static final Path FIXTURE = getResourcePath("/fixture");
+    public static final Path INPUT = FIXTURE.resolve("input");
+    public static final Path EXPECTED = FIXTURE.resolve("expected");
+
+    public static Config loadConfig(Path workDir, String... properties) {
+        final var props = new Properties();
+        try (final var resourceStream = TestFixtures.class.getResourceAsStream("/" + Config.CONFIG_FILE_NAME)) {
+            props.load(resourceStream);
+            props.setProperty(Config.CONNECTION_SCHEDULES_PATH, INPUT.resolve("Facility2Constellation").toString());
+            props.setProperty(Config.FLYBY_SCHEDULES_PATH, INPUT.resolve("Russia2Constellation").toString());
+            props.setProperty(Config.RESULTS_PATH, workDir.resolve("result").toString());
+            props.setProperty(Config.STATISTICS_PATH, workDir.resolve("statistics").toString());
+            for (final var property : properties) {
+                props.load(new StringReader(property));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ConfigLoader.loadConfig(props);
+    }
+
+    public static Input loadInput(Config config) {
+        final var loadedConnectionSchedules = SchedulesLoader.getConnectionSchedules(Path.of(config.connectionSchedulesPath), config);
+        final var loadedFlybySchedules = SchedulesLoader.getFlybySchedules(Path.of(config.flybySchedulesPath), config);
+        final var connectionSchedules = loadedConnectionSchedules.alignTo(loadedFlybySchedules, config.timeTick);
+        final var flybySchedules = loadedFlybySchedules.alignTo(loadedConnectionSchedules, config.timeTick);
+        final var satellitesParams = SchedulesLoader.getSatellitesParams(connectionSchedules.getSatelliteNames(), config);
+        return new Input(connectionSchedules, flybySchedules, satellitesParams);
+    }
+
+    /* The expected files were written with '.' as the decimal separator. */
+    public static void save(Input input, Config config, ResolverResult result) {
+        final var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+        try {
+            new ResultsWriter(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config).save(result);
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    public static void assertSameFiles(Path expectedDir, Path actualDir) {
+        final var expectedFiles = listFiles(expectedDir);
+        assertTrue(!expectedFiles.isEmpty(), "No expected files in " + expectedDir);
+        for (final var file : expectedFiles) {
+            final var actualFile = actualDir.resolve(file);
+            assertTrue(Files.isRegularFile(actualFile), "Missing " + actualFile);
+            assertEquals(readString(expectedDir.resolve(file)), readString(actualFile), "Content of " + file);
+        }
+    }
+
+    public static String readString(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> listFiles(Path directory) {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).map(directory::relativize).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path getResourcePath(String name) {
+        try {
+            return Path.of(TestFixtures.class.getResource(name).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Input {
+        public final Schedule connectionSchedules;
+        public final Schedule flybySchedules;
+        public final SatelliteParams[] satellitesParams;
+
+        public Input(Schedule connectionSchedules, Schedule flybySchedules, SatelliteParams[] satellitesParams) {
+            this.connectionSchedules = connectionSchedules;
+            this.flybySchedules = flybySchedules;
+            this.satellitesParams = satellitesParams;
+        }
+    }
+}
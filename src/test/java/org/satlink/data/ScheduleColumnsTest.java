@@ -0,0 +1,52 @@
+package org.satlink.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleColumnsTest {
+    private static final int TIME_TICK = 1000;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void startsRoundUpAndStopsRoundDown() {
+        assertEquals(2, ScheduleColumns.toStartTicks(1700, TIME_TICK));
+        assertEquals(2, ScheduleColumns.toStartTicks(2000, TIME_TICK));
+        assertEquals(-1, ScheduleColumns.toStartTicks(-1700, TIME_TICK));
+        assertEquals(5, ScheduleColumns.toStopTicks(5300, 2, TIME_TICK));
+        assertEquals(-2, ScheduleColumns.toStopTicks(-1700, -3, TIME_TICK));
+        assertEquals(2, ScheduleColumns.toStopTicks(1800, ScheduleColumns.toStartTicks(1200, TIME_TICK), TIME_TICK));
+    }
+
+    @Test
+    void coarseTicksStayInsideInputPeriods() {
+        for (final var loaderMode : LoaderModes.values()) {
+            final var exact = TestFixtures.loadInput(TestFixtures.loadConfig(workDir, Config.LOADER_MODE + " = " + loaderMode));
+            final var coarse = TestFixtures.loadInput(TestFixtures.loadConfig(workDir, Config.LOADER_MODE + " = " + loaderMode,
+                    Config.TIME_TICK + " = " + TIME_TICK));
+            assertInside(exact.connectionSchedules, coarse.connectionSchedules);
+            assertInside(exact.flybySchedules, coarse.flybySchedules);
+        }
+    }
+
+    private static void assertInside(Schedule exact, Schedule coarse) {
+        assertEquals(exact.getStartInstant(), coarse.getStartInstant());
+        assertEquals(exact.size(), coarse.size());
+        var roundedCount = 0;
+        for (var i = 0; i < exact.size(); i++) {
+            final var startMillis = (long) coarse.getStartTimes()[i] * TIME_TICK;
+            final var stopMillis = (long) coarse.getStopTimes()[i] * TIME_TICK;
+            assertTrue(startMillis >= exact.getStartTimes()[i] && startMillis - exact.getStartTimes()[i] < TIME_TICK, "Start of row " + i);
+            assertTrue(stopMillis <= exact.getStopTimes()[i] && exact.getStopTimes()[i] - stopMillis < TIME_TICK, "Stop of row " + i);
+            if (startMillis > exact.getStartTimes()[i]) roundedCount++;
+        }
+        assertTrue(roundedCount > 0, "No start was rounded");
+    }
+}
@@ -0,0 +1,56 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FifoResolverTest {
+    @TempDir
+    Path workDir;
+
+    @Test
+    void resolveMatchesOriginalOutput() {
+        final var config = TestFixtures.loadConfig(workDir);
+        final var input = TestFixtures.loadInput(config);
+
+        final var result = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            checker.check(result);
+        }
+        TestFixtures.save(input, config, result);
+
+        TestFixtures.assertSameFiles(TestFixtures.EXPECTED, workDir);
+    }
+
+    @Test
+    void resolveUsesSecondAntenna() {
+        final var singleConfig = TestFixtures.loadConfig(workDir);
+        final var single = TestFixtures.loadInput(singleConfig);
+        final var singleResult = new FifoResolver().resolve(single.connectionSchedules, single.flybySchedules, single.satellitesParams, singleConfig);
+
+        final var config = TestFixtures.loadConfig(workDir, Config.STATION_ANTENNAS + " = Station01: 2");
+        final var input = TestFixtures.loadInput(config);
+        final var result = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            checker.check(result);
+        }
+
+        final var stationId = Arrays.asList(input.connectionSchedules.getStationNames()).indexOf("Station01");
+        final var transactions = result.getStationTransactions()[stationId];
+        assertTrue(transactions.stream().allMatch(transaction -> transaction.length == 4), "Antenna column is missing");
+        assertTrue(transactions.stream().anyMatch(transaction -> transaction[3] == 1), "Second antenna is unused");
+        final var singleDuration = getDuration(singleResult.getStationTransactions()[stationId]);
+        assertTrue(getDuration(transactions) > singleDuration, "Two antennas transmit " + getDuration(transactions) + ", one " + singleDuration);
+    }
+
+    private static long getDuration(List<int[]> transactions) {
+        return transactions.stream().mapToLong(transaction -> transaction[2] - transaction[1]).sum();
+    }
+}
@@ -0,0 +1,123 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Nodes are added in topological order, as the planner does; costs are negative for the volume to be maximized.
+ */
+class FlowNetworkTest {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Test
+    void minimizeCostFindsMaximumFlow() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        final var a = network.addNode();
+        final var b = network.addNode();
+        final var sink = network.addNode();
+        network.addEdge(source, a, 3, -1);
+        network.addEdge(source, b, 2, -1);
+        final var ab = network.addEdge(a, b, 1, 0);
+        final var at = network.addEdge(a, sink, 2, 0);
+        final var bt = network.addEdge(b, sink, 3, 0);
+
+        assertTrue(network.minimizeCost(source, sink, NO_DEADLINE));
+        assertEquals(-5, network.flowCost);
+        assertEquals(2, network.getFlow(at));
+        assertEquals(3, network.getFlow(bt));
+        assertEquals(1, network.getFlow(ab));
+    }
+
+    /* Paths of non-negative cost are not taken, so the flow is of minimum cost but not maximum. */
+    @Test
+    void minimizeCostSkipsPositivePaths() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        final var middle = network.addNode();
+        final var sink = network.addNode();
+        network.addEdge(source, middle, 3, 0);
+        final var cheap = network.addEdge(middle, sink, 2, -4);
+        final var expensive = network.addEdge(middle, sink, 2, 1);
+
+        assertTrue(network.minimizeCost(source, sink, NO_DEADLINE));
+        assertEquals(-8, network.flowCost);
+        assertEquals(2, network.getFlow(cheap));
+        assertEquals(0, network.getFlow(expensive));
+    }
+
+    /*
+     * The cheapest single path source-a-b-sink (-3) blocks both cheaper pairs of paths (-4); the second search
+     * has to send flow back over a-b.
+     */
+    @Test
+    void minimizeCostReroutesOverReverseEdges() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        final var a = network.addNode();
+        final var b = network.addNode();
+        final var sink = network.addNode();
+        network.addEdge(source, a, 1, 0);
+        network.addEdge(source, b, 1, 0);
+        final var ab = network.addEdge(a, b, 1, -1);
+        final var at = network.addEdge(a, sink, 1, -2);
+        final var bt = network.addEdge(b, sink, 1, -2);
+
+        assertTrue(network.minimizeCost(source, sink, NO_DEADLINE));
+        assertEquals(-4, network.flowCost);
+        assertEquals(0, network.getFlow(ab));
+        assertEquals(1, network.getFlow(at));
+        assertEquals(1, network.getFlow(bt));
+    }
+
+    /* A buffer chain as long as a day of one-second buckets carries the memory of the first bucket to the last. */
+    @Test
+    void minimizeCostFollowsLongChains() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        var previous = network.addNode();
+        network.addEdge(source, previous, 10, 0);
+        var bottleneck = -1;
+        for (var i = 1; i < 86_400; i++) {
+            final var node = network.addNode();
+            final var edge = network.addEdge(previous, node, i == 50_000 ? 7 : 10, 0);
+            if (i == 50_000) bottleneck = edge;
+            previous = node;
+        }
+        final var sink = network.addNode();
+        network.addEdge(previous, sink, 10, -3);
+
+        assertTrue(network.minimizeCost(source, sink, NO_DEADLINE));
+        assertEquals(-21, network.flowCost);
+        assertEquals(7, network.getFlow(bottleneck));
+    }
+
+    @Test
+    void minimizeCostStopsAtDeadline() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        final var sink = network.addNode();
+        final var edge = network.addEdge(source, sink, 5, -1);
+
+        assertFalse(network.minimizeCost(source, sink, System.nanoTime() - 1));
+        assertEquals(0, network.getFlow(edge));
+        assertEquals(0, network.flowCost);
+        assertEquals(0, network.searchCount);
+    }
+
+    @Test
+    void minimizeCostLeavesUnreachableSinkEmpty() {
+        final var network = new FlowNetwork();
+        final var source = network.addNode();
+        final var middle = network.addNode();
+        final var sink = network.addNode();
+        final var edge = network.addEdge(source, middle, 5, -1);
+
+        assertTrue(network.minimizeCost(source, sink, NO_DEADLINE));
+        assertEquals(0, network.getFlow(edge));
+        assertEquals(0, network.flowCost);
+    }
+}
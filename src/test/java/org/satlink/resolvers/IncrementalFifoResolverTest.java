@@ -0,0 +1,80 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalFifoResolverTest {
+    private static final String CHANGED_STATION_FILE = "Facility-Station01.txt";
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("d MMM uuuu HH:mm:ss.SSS", Locale.US);
+    private static final LocalDateTime CUT_TIME = LocalDateTime.of(2027, 6, 1, 12, 0);
+
+    @TempDir
+    Path workDir;
+
+    /*
+     * The first run sees the windows of one station only up to noon; the second run, with a new resolver
+     * instance reading the saved state, gets the rest of them appended and must write exactly what a full
+     * FIFO pass over the complete input writes.
+     */
+    @Test
+    void incrementalPassMatchesFullPass() throws IOException {
+        final var fullDir = workDir.resolve("full");
+        final var fullConfig = TestFixtures.loadConfig(fullDir);
+        final var fullInput = TestFixtures.loadInput(fullConfig);
+        TestFixtures.save(fullInput, fullConfig, new FifoResolver().resolve(fullInput.connectionSchedules, fullInput.flybySchedules, fullInput.satellitesParams, fullConfig));
+
+        final var truncatedInput = workDir.resolve("input");
+        copyTruncated(TestFixtures.INPUT.resolve("Facility2Constellation"), truncatedInput);
+        final var stateProperty = "resolverStatePath = " + workDir.resolve("state.bin").toString().replace('\\', '/');
+        final var firstConfig = TestFixtures.loadConfig(workDir.resolve("first"), stateProperty,
+                Config.CONNECTION_SCHEDULES_PATH + " = " + truncatedInput.toString().replace('\\', '/'));
+        resolveIncrementally(firstConfig);
+
+        final var incrementalDir = workDir.resolve("incremental");
+        final var resolver = resolveIncrementally(TestFixtures.loadConfig(incrementalDir, stateProperty));
+
+        assertTrue(resolver.replayedCount > 0, "No transmits were replayed");
+        TestFixtures.assertSameFiles(fullDir, incrementalDir);
+    }
+
+    private static IncrementalFifoResolver resolveIncrementally(Config config) {
+        final var input = TestFixtures.loadInput(config);
+        final var resolver = (IncrementalFifoResolver) ResolverFactory.create(config.resolverType, config);
+        TestFixtures.save(input, config, resolver.resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config));
+        return resolver;
+    }
+
+    private static void copyTruncated(Path sourceDir, Path targetDir) throws IOException {
+        Files.createDirectories(targetDir);
+        try (final Stream<Path> files = Files.list(sourceDir)) {
+            for (final var file : (Iterable<Path>) files::iterator) {
+                final var target = targetDir.resolve(file.getFileName());
+                if (!file.getFileName().toString().equals(CHANGED_STATION_FILE)) {
+                    Files.copy(file, target);
+                    continue;
+                }
+                try (final Stream<String> lines = Files.lines(file)) {
+                    Files.writeString(target, lines.filter(line -> !startsAfterCut(line)).collect(Collectors.joining("\n", "", "\n")));
+                }
+            }
+        }
+    }
+
+    private static boolean startsAfterCut(String line) {
+        if (line.length() < 98 || !Character.isDigit(line.charAt(23))) return false;
+        return !LocalDateTime.parse(line.substring(28, 52).trim(), TIME_FORMATTER).isBefore(CUT_TIME);
+    }
+}
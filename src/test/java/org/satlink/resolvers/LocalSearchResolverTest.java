@@ -0,0 +1,98 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * With one-minute quanta the search finds both reassigns and swaps on the fixture.
+ */
+class LocalSearchResolverTest {
+    private static final String TIME_STEP = Config.TIME_STEP + " = 60000";
+    private static final String UNLIMITED_BUDGET = Config.LOCAL_SEARCH_TIME_BUDGET + " = 0";
+    private static final String ANTENNAS = Config.STATION_ANTENNAS + " = Station01: 2";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void resolveImprovesOnFifo() {
+        final var config = TestFixtures.loadConfig(workDir, TIME_STEP, UNLIMITED_BUDGET);
+        final var input = TestFixtures.loadInput(config);
+
+        final var fifoResult = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        final var resolver = new LocalSearchResolver();
+        final var result = resolver.resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+
+        final var fifoAmount = getAmount(fifoResult, input.satellitesParams);
+        final var amount = getAmount(result, input.satellitesParams);
+        assertTrue(amount > fifoAmount, "Local search received " + amount + ", FIFO " + fifoAmount);
+        assertTrue(resolver.reassignCount > 0, "No reassign accepted");
+        assertTrue(resolver.swapCount > 0, "No swap accepted");
+    }
+
+    /*
+     * The search replays satellite memory on its own; on the FIFO schedule the replay must keep every transmit
+     * whole, so per-satellite amounts equal the FIFO ones exactly.
+     */
+    @Test
+    void initReplaysFifoAmounts() {
+        for (final var properties : new String[][]{{}, {TIME_STEP}, {TIME_STEP, ANTENNAS}}) {
+            final var config = TestFixtures.loadConfig(workDir, properties);
+            final var input = TestFixtures.loadInput(config);
+            final var fifoResult = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+
+            final var resolver = new LocalSearchResolver();
+            resolver.init(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config, fifoResult);
+
+            final var fifoAmounts = new long[input.satellitesParams.length];
+            for (var satelliteId = 0; satelliteId < fifoAmounts.length; satelliteId++) {
+                for (final var transaction : fifoResult.getSatelliteTransactions()[satelliteId]) {
+                    if (transaction[0] < 0) continue;
+                    fifoAmounts[satelliteId] += (long) (transaction[2] - transaction[1]) * input.satellitesParams[satelliteId].getBandwidth();
+                }
+            }
+            assertArrayEquals(fifoAmounts, resolver.satelliteAmounts, String.join(", ", properties));
+        }
+    }
+
+    @Test
+    void resolveKeepsMemoryAndAntennaConstraints() {
+        final var config = TestFixtures.loadConfig(workDir, TIME_STEP, UNLIMITED_BUDGET, ANTENNAS, Config.LOCAL_SEARCH_THREADS + " = 2");
+        final var input = TestFixtures.loadInput(config);
+
+        final var result = new LocalSearchResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            checker.check(result);
+        }
+
+        final var stationId = Arrays.asList(input.connectionSchedules.getStationNames()).indexOf("Station01");
+        assertTrue(result.getStationTransactions()[stationId].stream().anyMatch(transaction -> transaction.length == 4 && transaction[3] == 1),
+                "Second antenna of Station01 is unused");
+        for (final var skip : result.getSkipStats()) {
+            for (final var transaction : result.getStationTransactions()[skip[1]]) {
+                final var overlaps = transaction[0] == skip[2] && transaction[1] < skip[4] && transaction[2] > skip[3];
+                assertFalse(overlaps, "Skipped quantum of station " + skip[1] + " and satellite " + skip[2] + " at " + skip[3] + " is used");
+            }
+        }
+    }
+
+    private static long getAmount(ResolverResult result, SatelliteParams[] satelliteParams) {
+        var amount = 0L;
+        for (final var transactions : result.getStationTransactions()) {
+            for (final var transaction : transactions) {
+                amount += (long) (transaction[2] - transaction[1]) * satelliteParams[transaction[0]].getBandwidth();
+            }
+        }
+        return amount;
+    }
+}
@@ -0,0 +1,79 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+import org.satlink.exceptions.ResultIntegrityException;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Transactions of Station01 overlap on its two antennas; moving one of an overlapping pair onto the other
+ * antenna, or swapping the pair, must be reported.
+ */
+class ResultCheckerTest {
+    private static final String STATION = "Station01";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void checkAcceptsOverlapOnDifferentAntennas() {
+        final var config = TestFixtures.loadConfig(workDir, Config.STATION_ANTENNAS + " = " + STATION + ": 2");
+        final var input = TestFixtures.loadInput(config);
+        final var result = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+
+        assertTrue(findOverlap(result, getStationId(input)) >= 0, "No overlapping transactions");
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            checker.check(result);
+        }
+    }
+
+    @Test
+    void checkRejectsOverlapOnOneAntenna() {
+        final var config = TestFixtures.loadConfig(workDir, Config.STATION_ANTENNAS + " = " + STATION + ": 2");
+        final var input = TestFixtures.loadInput(config);
+        final var result = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        final var transactions = result.getStationTransactions()[getStationId(input)];
+        final var index = findOverlap(result, getStationId(input));
+        transactions.get(index + 1)[3] = transactions.get(index)[3];
+
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            assertThrows(ResultIntegrityException.class, () -> checker.check(result));
+        }
+    }
+
+    @Test
+    void checkRejectsTransactionsOutOfStartOrder() {
+        final var config = TestFixtures.loadConfig(workDir, Config.STATION_ANTENNAS + " = " + STATION + ": 2");
+        final var input = TestFixtures.loadInput(config);
+        final var result = new FifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+        final var transactions = result.getStationTransactions()[getStationId(input)];
+        final var index = findOverlap(result, getStationId(input));
+        transactions.add(index, transactions.remove(index + 1));
+
+        try (final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            assertThrows(ResultIntegrityException.class, () -> checker.check(result));
+        }
+    }
+
+    private static int getStationId(TestFixtures.Input input) {
+        return Arrays.asList(input.connectionSchedules.getStationNames()).indexOf(STATION);
+    }
+
+    /* Returns the index of the first transaction whose successor starts on the other antenna before it ends. */
+    private static int findOverlap(ResolverResult result, int stationId) {
+        final var transactions = result.getStationTransactions()[stationId];
+        for (var i = 0; i + 1 < transactions.size(); i++) {
+            final var current = transactions.get(i);
+            final var next = transactions.get(i + 1);
+            if (current[3] != next[3] && next[1] > current[1] && next[1] <= current[2]) return i;
+        }
+        return -1;
+    }
+}
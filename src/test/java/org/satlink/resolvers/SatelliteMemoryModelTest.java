@@ -0,0 +1,55 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.satlink.data.SatelliteParams;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SatelliteMemoryModelTest {
+    private static final int MAX_TIME_AMOUNT = 400_000;
+    private static final int TRANSMIT_RATIO = 4;
+
+    @Test
+    void memoryUsageMatchesFullRescan() {
+        final var random = new Random(7);
+        final var timeline = new SatelliteTimeline();
+        var time = 0;
+        for (var i = 0; i < 300; i++) {
+            time += random.nextInt(60_000);
+            final var stopTime = time + 1 + random.nextInt(500_000);
+            timeline.addShooting(time, stopTime);
+            time = stopTime + 1;
+        }
+
+        final var model = new SatelliteMemoryModel(new SatelliteParams[]{new SatelliteParams(MAX_TIME_AMOUNT, TRANSMIT_RATIO, 100)});
+        var sweepTime = 0;
+        while (sweepTime < time) {
+            sweepTime += random.nextInt(100_000);
+            final var currentTime = Math.max(sweepTime, timeline.getCurrentTime(sweepTime)) + random.nextInt(50_000);
+            final var memory = model.getMemoryUsage(0, timeline, currentTime, sweepTime);
+            assertEquals(calcMemoryUsage(timeline.toList(), currentTime), memory, "Memory at " + currentTime);
+
+            if (memory > 0 && random.nextBoolean()) {
+                timeline.addTransmit(random.nextInt(3), currentTime, currentTime + Math.min(memory * TRANSMIT_RATIO, 1 + random.nextInt(245_000)));
+            }
+        }
+    }
+
+    /* The rescan FifoResolver used before the checkpointed model. */
+    private static int calcMemoryUsage(List<int[]> satelliteTransactions, int currentTime) {
+        var result = 0;
+        for (final var transaction : satelliteTransactions) {
+            if (transaction[1] >= currentTime) break;
+            final var duration = Math.min(transaction[2], currentTime) - transaction[1];
+            if (transaction[0] < 0) {
+                result = Math.min(result + duration, MAX_TIME_AMOUNT);
+            } else {
+                result -= duration / TRANSMIT_RATIO;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package org.satlink.resolvers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+import org.satlink.data.SatelliteParams;
+import org.satlink.data.Schedule;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * SatA transmits to Station00 past the one-hour boundary, so its quantum on Station01, which starts before
+ * the boundary, is delayed past it onto antenna 0. SatC starts on the idle antenna 1 right at the boundary,
+ * before the delayed transmit, but in the next slice.
+ */
+class SlicedFifoResolverTest {
+    private static final int BOUNDARY = 3_600_000;
+    private static final String[] STATIONS = {"Station00", "Station01"};
+    private static final String[] SATELLITES = {"SatA", "SatC"};
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void slicesWithAntennasConcatenateToFifoResult() {
+        final var config = TestFixtures.loadConfig(workDir, Config.STATION_ANTENNAS + " = Station01: 2", Config.TIME_STEP + " = 600000", "sliceHours = 1");
+        final var satelliteParams = new SatelliteParams[]{new SatelliteParams(2_500_000, 4, 100), new SatelliteParams(2_500_000, 4, 100)};
+
+        final var expected = new FifoResolver().resolve(createConnectionSchedule(), createFlybySchedule(), satelliteParams, config);
+        final var slices = new ArrayList<ResolverResult>();
+        new SlicedFifoResolver().resolve(createConnectionSchedule(), createFlybySchedule(), satelliteParams, config, slices::add);
+
+        assertEquals(2, slices.size());
+        for (var stationId = 0; stationId < STATIONS.length; stationId++) {
+            final var transactions = new ArrayList<int[]>();
+            for (final var slice : slices) {
+                transactions.addAll(slice.getStationTransactions()[stationId]);
+            }
+            assertSameTransactions(expected.getStationTransactions()[stationId], transactions);
+        }
+        assertEquals(BOUNDARY, expected.getStationTransactions()[1].get(0)[1]);
+        assertEquals(1, expected.getStationTransactions()[1].get(0)[3]);
+    }
+
+    private static void assertSameTransactions(List<int[]> expected, List<int[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (var i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "Transaction " + i);
+        }
+    }
+
+    private static Schedule createConnectionSchedule() {
+        return new Schedule(LocalDateTime.of(2027, 6, 1, 0, 0), STATIONS, SATELLITES,
+                new int[]{0, 1, 1},
+                new int[]{0, 0, 1},
+                new int[]{BOUNDARY - 600_000, BOUNDARY - 300_000, BOUNDARY},
+                new int[]{BOUNDARY + 120_000, BOUNDARY + 600_000, BOUNDARY + 400_000});
+    }
+
+    private static Schedule createFlybySchedule() {
+        return new Schedule(LocalDateTime.of(2027, 6, 1, 0, 0), null, SATELLITES,
+                null,
+                new int[]{0, 1},
+                new int[]{0, 0},
+                new int[]{3_000_000, 3_000_000});
+    }
+}
@@ -0,0 +1,87 @@
+package org.satlink.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleServiceTest {
+    private static final String REMOVED_STATION_FILE = "Facility-Station02.txt";
+    private static final String BROKEN_STATION_FILE = "Facility-Station00.txt";
+    private static final Pattern TRANSMITS = Pattern.compile("\"transmits\": (\\d+)");
+    private static final Pattern REPLAYED = Pattern.compile("\"sweep_transmits_replayed\": (\\d+)");
+
+    @TempDir
+    Path workDir;
+
+    private Path inputDir;
+    private ScheduleService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inputDir = workDir.resolve("input");
+        Files.createDirectories(inputDir);
+        try (final Stream<Path> files = Files.list(TestFixtures.INPUT.resolve("Facility2Constellation"))) {
+            for (final var file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, inputDir.resolve(file.getFileName()));
+            }
+        }
+        service = new ScheduleService(TestFixtures.loadConfig(workDir,
+                Config.CONNECTION_SCHEDULES_PATH + " = " + inputDir.toString().replace('\\', '/')));
+    }
+
+    /*
+     * Input stays resident until it is invalidated, and FIFO replays its in-memory state even without
+     * resolverStatePath.
+     */
+    @Test
+    void calculateReusesStateAndReloadsChangedInput() throws IOException {
+        final var first = service.calculate();
+        assertTrue(first.contains("\"state\": \"ok\""), first);
+        final var transmits = getCount(TRANSMITS, first);
+
+        final var second = service.calculate();
+        assertEquals(transmits, getCount(TRANSMITS, second));
+        assertEquals(transmits, getCount(REPLAYED, TestFixtures.readString(workDir.resolve("statistics").resolve("Metrics.json"))));
+
+        Files.delete(inputDir.resolve(REMOVED_STATION_FILE));
+        assertEquals(transmits, getCount(TRANSMITS, service.calculate()));
+
+        service.invalidateInput();
+        final var reloaded = service.calculate();
+        assertTrue(reloaded.contains("\"state\": \"ok\""), reloaded);
+        assertTrue(getCount(TRANSMITS, reloaded) < transmits, reloaded);
+    }
+
+    @Test
+    void calculateReportsFailureUntilInputIsFixed() throws IOException {
+        final var file = inputDir.resolve(BROKEN_STATION_FILE);
+        final var content = Files.readString(file);
+        Files.writeString(file, content.replaceFirst("1 Jun 2027", "1 Jux 2027"));
+
+        service.invalidateInput();
+        final var failed = service.calculate();
+        assertTrue(failed.contains("\"state\": \"failed\""), failed);
+        assertTrue(failed.contains("\"error\": "), failed);
+
+        Files.writeString(file, content);
+        final var fixed = service.calculate();
+        assertTrue(fixed.contains("\"state\": \"ok\""), fixed);
+    }
+
+    private static long getCount(Pattern pattern, String text) {
+        final var matcher = pattern.matcher(text);
+        assertTrue(matcher.find(), "No " + pattern + " in " + text);
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,88 @@
+package org.satlink.writers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RowEncoderTest {
+    private static final LocalDateTime INITIAL_TIME = LocalDateTime.of(2027, 6, 1, 0, 0);
+
+    @Test
+    void scheduleRowsMatchStringFormat() {
+        assertScheduleRowsMatch("d MMM uuuu HH:mm:ss.SSS", Locale.US, 1);
+        assertScheduleRowsMatch("dd.MM.uuuu HH:mm:ss.SSS", Locale.GERMANY, 1);
+        assertScheduleRowsMatch("dd.MM.uuuu HH:mm:ss.SSS", Locale.US, 5);
+    }
+
+    @Test
+    void uncachedPatternsMatchFormatter() {
+        assertScheduleRowsMatch("uuuu-MM-dd'T'HH:mm:ss", Locale.US, 1);
+        assertScheduleRowsMatch("HH:mm:ss.SSS dd.MM.uuuu", Locale.US, 1);
+    }
+
+    @Test
+    void numbersMatchStringFormat() {
+        final var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+        try {
+            final var encoder = new RowEncoder(INITIAL_TIME, 1, DateTimeFormatter.ISO_LOCAL_DATE_TIME, null);
+            for (final var value : new long[]{0, 1, -1, 999, -999, 1000, 123_456_789, -123_456_789, 86_400_000_000L}) {
+                assertEquals(String.format("%d|%.3f", value, value * 0.001), toLine(encoder.appendInt(value).appendText("|").appendThousandths(value)));
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    private static void assertScheduleRowsMatch(String pattern, Locale locale, int timeTick) {
+        final var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, locale);
+        try {
+            final var formatter = DateTimeFormatter.ofPattern(pattern, Locale.US);
+            final var encoder = new RowEncoder(INITIAL_TIME, timeTick, formatter, pattern);
+            final var random = new Random(42);
+            var time = 0;
+            for (var i = 0; i < 2000; i++) {
+                final var startTime = time + random.nextInt(600_000 / timeTick);
+                final var stopTime = startTime + 1 + random.nextInt(245_000 / timeTick);
+                final var duration = (long) (stopTime - startTime) * timeTick;
+                final var expected = String.format("%30s%30s%30.3f%30s%30.3f",
+                        formatter.format(INITIAL_TIME.plus((long) startTime * timeTick, ChronoUnit.MILLIS)),
+                        formatter.format(INITIAL_TIME.plus((long) stopTime * timeTick, ChronoUnit.MILLIS)),
+                        duration * 0.001,
+                        "KinoSat_" + i,
+                        100 * duration * 0.001);
+
+                encoder.appendTimestamp(startTime).padLeft(0, 30);
+                var mark = encoder.length();
+                encoder.appendTimestamp(stopTime).padLeft(mark, 30);
+                mark = encoder.length();
+                encoder.appendThousandths(duration).padLeft(mark, 30);
+                mark = encoder.length();
+                encoder.appendText("KinoSat_" + i).padLeft(mark, 30);
+                mark = encoder.length();
+                encoder.appendThousandths(100 * duration).padLeft(mark, 30);
+                assertEquals(expected, toLine(encoder), pattern + " row " + i);
+                time = stopTime;
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    private static String toLine(RowEncoder encoder) {
+        final var stringWriter = new StringWriter();
+        try (final var printWriter = new PrintWriter(stringWriter)) {
+            encoder.writeLine(printWriter);
+        }
+        return stringWriter.toString().stripTrailing();
+    }
+}
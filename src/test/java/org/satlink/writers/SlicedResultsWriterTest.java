@@ -0,0 +1,97 @@
+package org.satlink.writers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.satlink.TestFixtures;
+import org.satlink.data.Config;
+import org.satlink.resolvers.FifoResolver;
+import org.satlink.resolvers.ResultChecker;
+import org.satlink.resolvers.SlicedFifoResolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlicedResultsWriterTest {
+    @TempDir
+    Path workDir;
+
+    @Test
+    void slicedOutputMatchesOriginalOutput() {
+        final var config = TestFixtures.loadConfig(workDir, "sliceHours = 3");
+        final var input = TestFixtures.loadInput(config);
+
+        final var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+        try (final var writer = new SlicedResultsWriter(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config)) {
+            new SlicedFifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config, writer);
+            writer.finish();
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+
+        TestFixtures.assertSameFiles(TestFixtures.EXPECTED, workDir);
+        assertEquals(0, countSpoolDirectories());
+    }
+
+    /*
+     * A transmit delayed past a slice boundary on one antenna must not precede a transmit that the other antenna
+     * starts earlier in the next slice.
+     */
+    @Test
+    void slicedOutputWithAntennasMatchesUnslicedOutput() {
+        final var antennas = Config.STATION_ANTENNAS + " = Station01: 2";
+        final var unslicedDir = workDir.resolve("unsliced");
+        final var unslicedConfig = TestFixtures.loadConfig(unslicedDir, antennas);
+        final var unsliced = TestFixtures.loadInput(unslicedConfig);
+        TestFixtures.save(unsliced, unslicedConfig,
+                new FifoResolver().resolve(unsliced.connectionSchedules, unsliced.flybySchedules, unsliced.satellitesParams, unslicedConfig));
+
+        final var slicedDir = workDir.resolve("sliced");
+        final var config = TestFixtures.loadConfig(slicedDir, antennas, "sliceHours = 1");
+        final var input = TestFixtures.loadInput(config);
+        final var defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+        try (final var writer = new SlicedResultsWriter(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config);
+             final var checker = new ResultChecker(input.connectionSchedules, input.flybySchedules, config)) {
+            new SlicedFifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config, slice -> {
+                checker.checkSlice(slice);
+                writer.accept(slice);
+            });
+            writer.finish();
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+
+        TestFixtures.assertSameFiles(unslicedDir, slicedDir);
+    }
+
+    @Test
+    void closeRemovesSpoolDirectoryWhenResolverFails() {
+        final var config = TestFixtures.loadConfig(workDir, "sliceHours = 3");
+        final var input = TestFixtures.loadInput(config);
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (final var writer = new SlicedResultsWriter(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config)) {
+                new SlicedFifoResolver().resolve(input.connectionSchedules, input.flybySchedules, input.satellitesParams, config, slice -> {
+                    writer.accept(slice);
+                    throw new IllegalStateException("Resolver failed");
+                });
+            }
+        });
+
+        assertEquals(0, countSpoolDirectories());
+    }
+
+    private long countSpoolDirectories() {
+        try (final var files = Files.list(workDir.resolve("statistics"))) {
+            return files.filter(Files::isDirectory).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}